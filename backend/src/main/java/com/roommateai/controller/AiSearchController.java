@@ -2,6 +2,7 @@ package com.roommateai.controller;
 
 import com.roommateai.dto.AiSearchRequest;
 import com.roommateai.dto.RentalResponse;
+import com.roommateai.model.Amenity;
 import com.roommateai.model.User;
 import com.roommateai.service.AuthService;
 import com.roommateai.service.GeminiService;
@@ -109,10 +110,7 @@ public class AiSearchController {
             "Hostel near college with 24/7 security"
         ));
         
-        suggestions.put("amenities", List.of(
-            "AC", "WiFi", "Meals", "Gym", "Parking", "Laundry", 
-            "Security", "Study Room", "Common Area", "Kitchen"
-        ));
+        suggestions.put("amenities", Amenity.labels());
         
         suggestions.put("propertyTypes", List.of(
             "HOSTEL", "PG", "APARTMENT", "HOUSE"
@@ -5,6 +5,10 @@ import com.roommateai.model.Match;
 import com.roommateai.model.User;
 import com.roommateai.service.AuthService;
 import com.roommateai.service.RoommateMatchingService;
+import com.roommateai.service.ScoringEngine;
+import com.roommateai.service.ScoringModel;
+import com.roommateai.service.SwipeDeckService;
+import com.roommateai.service.UserWithScore;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -30,25 +34,38 @@ public class MatchController {
     @Autowired
     private AuthService authService;
 
+    @Autowired
+    private SwipeDeckService swipeDeckService;
+
+    @Autowired
+    private ScoringEngine scoringEngine;
+
+    private static final int MAX_PAGE_SIZE = 50;
+
     /**
      * Get potential matches for a user
+     * Pages through the user's ranked deck; pass the returned nextCursor to get the next page
      */
     @GetMapping("/potential")
-    public ResponseEntity<?> getPotentialMatches(@RequestHeader("Authorization") String authHeader) {
+    public ResponseEntity<?> getPotentialMatches(@RequestHeader("Authorization") String authHeader,
+                                                 @RequestParam(required = false) String cursor,
+                                                 @RequestParam(defaultValue = "20") int limit) {
         try {
             User user = authService.validateToken(authHeader.substring(7));
             if (user == null) {
                 return ResponseEntity.badRequest().body(Map.of("error", "Invalid token"));
             }
 
-            List<User> potentialMatches = matchingService.findPotentialMatches(user.getId());
-            List<MatchResponse> responses = potentialMatches.stream()
+            int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+            SwipeDeckService.DeckPage page = swipeDeckService.getPage(user.getId(), cursor, pageSize);
+            List<MatchResponse> responses = page.getMatches().stream()
                     .map(this::convertToResponse)
                     .collect(Collectors.toList());
 
             Map<String, Object> response = new HashMap<>();
             response.put("matches", responses);
             response.put("count", responses.size());
+            response.put("nextCursor", page.getNextCursor());
             response.put("message", "Potential matches retrieved successfully");
 
             return ResponseEntity.ok(response);
@@ -79,7 +96,8 @@ public class MatchController {
             }
 
             Match match = matchingService.processLike(user.getId(), targetUserId);
-            MatchResponse response = convertMatchToResponse(match);
+            swipeDeckService.onSwipe(user.getId(), targetUserId);
+            MatchResponse response = convertMatchToResponse(match, user.getId());
 
             Map<String, Object> result = new HashMap<>();
             result.put("match", response);
@@ -115,6 +133,7 @@ public class MatchController {
             }
 
             Match match = matchingService.processPass(user.getId(), targetUserId);
+            swipeDeckService.onSwipe(user.getId(), targetUserId);
 
             Map<String, Object> result = new HashMap<>();
             result.put("message", "Pass recorded successfully");
@@ -143,7 +162,7 @@ public class MatchController {
 
             List<Match> matches = matchingService.getMatchesForUser(user.getId());
             List<MatchResponse> responses = matches.stream()
-                    .map(this::convertMatchToResponse)
+                    .map(match -> convertMatchToResponse(match, user.getId()))
                     .collect(Collectors.toList());
 
             Map<String, Object> response = new HashMap<>();
@@ -173,7 +192,7 @@ public class MatchController {
 
             List<Match> matchedPairs = matchingService.getMatchedPairs(user.getId());
             List<MatchResponse> responses = matchedPairs.stream()
-                    .map(this::convertMatchToResponse)
+                    .map(match -> convertMatchToResponse(match, user.getId()))
                     .collect(Collectors.toList());
 
             Map<String, Object> response = new HashMap<>();
@@ -192,6 +211,7 @@ public class MatchController {
 
     /**
      * Get match statistics for a user
+     * Counted in the database with a single grouped query
      */
     @GetMapping("/stats")
     public ResponseEntity<?> getMatchStats(@RequestHeader("Authorization") String authHeader) {
@@ -201,18 +221,14 @@ public class MatchController {
                 return ResponseEntity.badRequest().body(Map.of("error", "Invalid token"));
             }
 
-            List<Match> allMatches = matchingService.getMatchesForUser(user.getId());
-            List<Match> matchedPairs = matchingService.getMatchedPairs(user.getId());
+            Map<Match.MatchStatus, Long> counts = matchingService.countMatchesByStatus(user.getId());
+            long totalMatches = counts.values().stream().mapToLong(Long::longValue).sum();
 
             Map<String, Object> stats = new HashMap<>();
-            stats.put("totalMatches", allMatches.size());
-            stats.put("matchedPairs", matchedPairs.size());
-            stats.put("likesGiven", allMatches.stream()
-                    .filter(m -> m.getStatus() == Match.MatchStatus.LIKED || m.getStatus() == Match.MatchStatus.MATCHED)
-                    .count());
-            stats.put("passesGiven", allMatches.stream()
-                    .filter(m -> m.getStatus() == Match.MatchStatus.REJECTED)
-                    .count());
+            stats.put("totalMatches", totalMatches);
+            stats.put("matchedPairs", counts.get(Match.MatchStatus.MATCHED));
+            stats.put("likesGiven", counts.get(Match.MatchStatus.LIKED) + counts.get(Match.MatchStatus.MATCHED));
+            stats.put("passesGiven", counts.get(Match.MatchStatus.REJECTED));
 
             return ResponseEntity.ok(stats);
 
@@ -225,10 +241,34 @@ public class MatchController {
     }
 
     /**
-     * Convert User to MatchResponse
+     * Reload scoring weights and lookup tables from configuration (Admin only)
+     */
+    @PostMapping("/scoring/reload")
+    public ResponseEntity<?> reloadScoring(@RequestHeader("Authorization") String authHeader) {
+        try {
+            User user = authService.validateToken(authHeader.substring(7));
+            if (user == null || !user.getRole().equals(User.UserRole.ADMIN)) {
+                return ResponseEntity.badRequest().body(Map.of("error", "Admin access required"));
+            }
+
+            ScoringModel model = scoringEngine.reload();
+            return ResponseEntity.ok(model.describe());
+
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Failed to reload scoring configuration");
+            error.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+
+    /**
+     * Convert scored candidate to MatchResponse
      */
-    private MatchResponse convertToResponse(User user) {
+    private MatchResponse convertToResponse(UserWithScore candidate) {
+        User user = candidate.getUser();
         MatchResponse response = new MatchResponse();
+        response.setCompatibilityScore(candidate.getScore());
         response.setUserId(user.getId());
         response.setUserName(user.getName());
         response.setUserEmail(user.getEmail());
@@ -240,9 +280,9 @@ public class MatchController {
     }
 
     /**
-     * Convert Match to MatchResponse
+     * Convert Match to MatchResponse from the point of view of the given user
      */
-    private MatchResponse convertMatchToResponse(Match match) {
+    private MatchResponse convertMatchToResponse(Match match, Long userId) {
         MatchResponse response = new MatchResponse();
         response.setId(match.getId());
         response.setCompatibilityScore(match.getCompatibilityScore());
@@ -251,7 +291,7 @@ public class MatchController {
         response.setCreatedAt(match.getCreatedAt());
 
         // Set user information (the other user in the match)
-        User otherUser = match.getUser1();
+        User otherUser = match.getUser1().getId().equals(userId) ? match.getUser2() : match.getUser1();
         response.setUserId(otherUser.getId());
         response.setUserName(otherUser.getName());
         response.setUserEmail(otherUser.getEmail());
@@ -31,6 +31,8 @@ public class RentalController {
     @Autowired
     private AuthService authService;
 
+    private static final int MAX_PAGE_SIZE = 50;
+
     /**
      * Create a new rental listing
      */
@@ -121,19 +123,34 @@ public class RentalController {
 
     /**
      * Search rentals by multiple criteria
+     * amenities is a comma-separated list of labels ("WiFi,AC"); every one must be present.
+     * With facets=true, returns the results with counts per property type, room type,
+     * rent range and amenity
      */
     @GetMapping("/search")
-    public ResponseEntity<List<RentalResponse>> searchRentals(
+    public ResponseEntity<?> searchRentals(
             @RequestParam(required = false) String city,
             @RequestParam(required = false) String state,
             @RequestParam(required = false) BigDecimal minRent,
             @RequestParam(required = false) BigDecimal maxRent,
             @RequestParam(required = false) String propertyType,
-            @RequestParam(required = false) String roomType) {
+            @RequestParam(required = false) String roomType,
+            @RequestParam(required = false) BigDecimal maxDeposit,
+            @RequestParam(required = false) List<String> amenities,
+            @RequestParam(defaultValue = "false") boolean facets) {
         
         List<RentalResponse> rentals = rentalService.searchRentalsByCriteria(
-                city, state, minRent, maxRent, propertyType, roomType);
-        return ResponseEntity.ok(rentals);
+                city, state, minRent, maxRent, propertyType, roomType, maxDeposit, amenities);
+        if (!facets) {
+            return ResponseEntity.ok(rentals);
+        }
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("results", rentals);
+        response.put("count", rentals.size());
+        response.put("facets", rentalService.getSearchFacets(
+                city, state, minRent, maxRent, propertyType, roomType, maxDeposit, amenities, rentals));
+        return ResponseEntity.ok(response);
     }
 
     /**
@@ -146,18 +163,90 @@ public class RentalController {
     }
 
     /**
-     * Find nearby rentals
+     * Find nearby rentals, closest first, optionally filtered by rent, type, deposit and amenities
      */
     @GetMapping("/search/nearby")
     public ResponseEntity<List<RentalResponse>> findNearbyRentals(
             @RequestParam BigDecimal latitude,
             @RequestParam BigDecimal longitude,
-            @RequestParam(defaultValue = "5.0") Double radiusKm) {
+            @RequestParam(defaultValue = "5.0") Double radiusKm,
+            @RequestParam(required = false) BigDecimal minRent,
+            @RequestParam(required = false) BigDecimal maxRent,
+            @RequestParam(required = false) String propertyType,
+            @RequestParam(required = false) String roomType,
+            @RequestParam(required = false) BigDecimal maxDeposit,
+            @RequestParam(required = false) List<String> amenities) {
         
-        List<RentalResponse> rentals = rentalService.findNearbyRentals(latitude, longitude, radiusKm);
+        List<RentalResponse> rentals = rentalService.findNearbyRentals(latitude, longitude, radiusKm,
+                minRent, maxRent, propertyType, roomType, maxDeposit, amenities);
         return ResponseEntity.ok(rentals);
     }
 
+    /**
+     * Page through listing cards matching optional criteria
+     * Sort by "newest" (default) or "rent"; pass the returned nextCursor to get the next page
+     */
+    @GetMapping("/cards")
+    public ResponseEntity<?> getRentalCards(
+            @RequestParam(required = false) String city,
+            @RequestParam(required = false) String state,
+            @RequestParam(required = false) BigDecimal minRent,
+            @RequestParam(required = false) BigDecimal maxRent,
+            @RequestParam(required = false) String propertyType,
+            @RequestParam(required = false) String roomType,
+            @RequestParam(defaultValue = "newest") String sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit) {
+        try {
+            int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+            RentalService.CardPage page = rentalService.getRentalCards(
+                    city, state, minRent, maxRent, propertyType, roomType, sort, cursor, pageSize);
+            return ResponseEntity.ok(toCardPageResponse(page));
+
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Failed to fetch rentals");
+            error.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+
+    /**
+     * Page through listing cards near a location, closest first
+     */
+    @GetMapping("/cards/nearby")
+    public ResponseEntity<?> getNearbyRentalCards(
+            @RequestParam BigDecimal latitude,
+            @RequestParam BigDecimal longitude,
+            @RequestParam(defaultValue = "5.0") Double radiusKm,
+            @RequestParam(required = false) BigDecimal minRent,
+            @RequestParam(required = false) BigDecimal maxRent,
+            @RequestParam(required = false) String propertyType,
+            @RequestParam(required = false) String roomType,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit) {
+        try {
+            int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+            RentalService.CardPage page = rentalService.getNearbyRentalCards(
+                    latitude, longitude, radiusKm, minRent, maxRent, propertyType, roomType, cursor, pageSize);
+            return ResponseEntity.ok(toCardPageResponse(page));
+
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Failed to fetch rentals");
+            error.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+
+    private Map<String, Object> toCardPageResponse(RentalService.CardPage page) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("rentals", page.getRentals());
+        response.put("count", page.getRentals().size());
+        response.put("nextCursor", page.getNextCursor());
+        return response;
+    }
+
     /**
      * Update rental
      */
@@ -242,4 +331,25 @@ public class RentalController {
             return ResponseEntity.badRequest().body(error);
         }
     }
+
+    /**
+     * Rental query cache statistics (Admin only)
+     */
+    @GetMapping("/cache/stats")
+    public ResponseEntity<?> getCacheStats(@RequestHeader("Authorization") String authHeader) {
+        try {
+            User user = authService.validateToken(authHeader.substring(7));
+            if (user == null || !user.getRole().equals(User.UserRole.ADMIN)) {
+                return ResponseEntity.badRequest().body(Map.of("error", "Admin access required"));
+            }
+
+            return ResponseEntity.ok(rentalService.getCacheStats());
+
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Failed to fetch cache stats");
+            error.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
 }
@@ -0,0 +1,102 @@
+package com.roommateai.dto;
+
+import com.roommateai.model.Rental;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Rental Card Response DTO
+ * The few columns a listing card shows; built directly by criteria constructor queries
+ */
+public class RentalCardResponse {
+
+    private Long id;
+    private String title;
+    private BigDecimal rent;
+    private String city;
+    private String state;
+    private String propertyType;
+    private String roomType;
+    private Boolean isVerified;
+    private BigDecimal latitude;
+    private BigDecimal longitude;
+    private LocalDateTime createdAt;
+    private Double distanceKm; // Only set by location searches
+
+    // Constructors
+    public RentalCardResponse() {}
+
+    public RentalCardResponse(Long id, String title, BigDecimal rent, String city, String state,
+                              Rental.PropertyType propertyType, Rental.RoomType roomType, Boolean isVerified,
+                              BigDecimal latitude, BigDecimal longitude, LocalDateTime createdAt) {
+        this.id = id;
+        this.title = title;
+        this.rent = rent;
+        this.city = city;
+        this.state = state;
+        this.propertyType = propertyType != null ? propertyType.name() : null;
+        this.roomType = roomType != null ? roomType.name() : null;
+        this.isVerified = isVerified;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.createdAt = createdAt;
+    }
+
+    /**
+     * Card view of a full rental response
+     */
+    public static RentalCardResponse from(RentalResponse rental) {
+        RentalCardResponse card = new RentalCardResponse();
+        card.setId(rental.getId());
+        card.setTitle(rental.getTitle());
+        card.setRent(rental.getRent());
+        card.setCity(rental.getCity());
+        card.setState(rental.getState());
+        card.setPropertyType(rental.getPropertyType());
+        card.setRoomType(rental.getRoomType());
+        card.setIsVerified(rental.getIsVerified());
+        card.setLatitude(rental.getLatitude());
+        card.setLongitude(rental.getLongitude());
+        card.setCreatedAt(rental.getCreatedAt());
+        card.setDistanceKm(rental.getDistanceKm());
+        return card;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getTitle() { return title; }
+    public void setTitle(String title) { this.title = title; }
+
+    public BigDecimal getRent() { return rent; }
+    public void setRent(BigDecimal rent) { this.rent = rent; }
+
+    public String getCity() { return city; }
+    public void setCity(String city) { this.city = city; }
+
+    public String getState() { return state; }
+    public void setState(String state) { this.state = state; }
+
+    public String getPropertyType() { return propertyType; }
+    public void setPropertyType(String propertyType) { this.propertyType = propertyType; }
+
+    public String getRoomType() { return roomType; }
+    public void setRoomType(String roomType) { this.roomType = roomType; }
+
+    public Boolean getIsVerified() { return isVerified; }
+    public void setIsVerified(Boolean isVerified) { this.isVerified = isVerified; }
+
+    public BigDecimal getLatitude() { return latitude; }
+    public void setLatitude(BigDecimal latitude) { this.latitude = latitude; }
+
+    public BigDecimal getLongitude() { return longitude; }
+    public void setLongitude(BigDecimal longitude) { this.longitude = longitude; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public Double getDistanceKm() { return distanceKm; }
+    public void setDistanceKm(Double distanceKm) { this.distanceKm = distanceKm; }
+}
@@ -3,6 +3,8 @@ package com.roommateai.dto;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Rental Response DTO
@@ -32,10 +34,52 @@ public class RentalResponse {
     private Boolean isVerified;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private Double distanceKm; // Only set by location searches
     
     // Constructors
     public RentalResponse() {}
     
+    /**
+     * Field-by-field copy, so callers can modify a response handed out from a shared cache or index
+     */
+    public RentalResponse(RentalResponse source) {
+        this.id = source.id;
+        this.ownerId = source.ownerId;
+        this.ownerName = source.ownerName;
+        this.title = source.title;
+        this.description = source.description;
+        this.rent = source.rent;
+        this.deposit = source.deposit;
+        this.address = source.address;
+        this.city = source.city;
+        this.state = source.state;
+        this.pincode = source.pincode;
+        this.latitude = source.latitude;
+        this.longitude = source.longitude;
+        this.amenitiesJson = source.amenitiesJson;
+        this.imagesJson = source.imagesJson;
+        this.propertyType = source.propertyType;
+        this.roomType = source.roomType;
+        this.availableFrom = source.availableFrom;
+        this.availableUntil = source.availableUntil;
+        this.isAvailable = source.isAvailable;
+        this.isVerified = source.isVerified;
+        this.createdAt = source.createdAt;
+        this.updatedAt = source.updatedAt;
+        this.distanceKm = source.distanceKm;
+    }
+    
+    /**
+     * A new list holding a copy of each response
+     */
+    public static List<RentalResponse> copyOf(List<RentalResponse> sources) {
+        List<RentalResponse> copies = new ArrayList<>(sources.size());
+        for (RentalResponse source : sources) {
+            copies.add(new RentalResponse(source));
+        }
+        return copies;
+    }
+    
     // Getters and Setters
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
@@ -105,4 +149,7 @@ public class RentalResponse {
     
     public LocalDateTime getUpdatedAt() { return updatedAt; }
     public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+    
+    public Double getDistanceKm() { return distanceKm; }
+    public void setDistanceKm(Double distanceKm) { this.distanceKm = distanceKm; }
 }
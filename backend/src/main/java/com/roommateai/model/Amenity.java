@@ -0,0 +1,90 @@
+package com.roommateai.model;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Canonical rental amenities
+ * Each amenity owns one bit of Rental.amenitiesMask, so the order of the constants must not change;
+ * add new amenities at the end.
+ */
+public enum Amenity {
+    AC("AC"),
+    WIFI("WiFi"),
+    MEALS("Meals"),
+    GYM("Gym"),
+    PARKING("Parking"),
+    LAUNDRY("Laundry"),
+    SECURITY("Security"),
+    STUDY_ROOM("Study Room"),
+    COMMON_AREA("Common Area"),
+    KITCHEN("Kitchen");
+
+    private final String label;
+
+    Amenity(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public long bit() {
+        return 1L << ordinal();
+    }
+
+    /**
+     * Find the amenity for a label, ignoring case, spaces and punctuation ("wi-fi" is WIFI)
+     * Returns null for anything outside the canonical list
+     */
+    public static Amenity fromLabel(String label) {
+        if (label == null) {
+            return null;
+        }
+        String key = normalize(label);
+        for (Amenity amenity : values()) {
+            if (normalize(amenity.label).equals(key)) {
+                return amenity;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Bitmask of the canonical amenities among the labels; unknown labels are ignored
+     */
+    public static long maskOf(Collection<String> labels) {
+        long mask = 0;
+        for (String label : labels) {
+            Amenity amenity = fromLabel(label);
+            if (amenity != null) {
+                mask |= amenity.bit();
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Display labels of every amenity, in bit order
+     */
+    public static List<String> labels() {
+        List<String> labels = new ArrayList<>();
+        for (Amenity amenity : values()) {
+            labels.add(amenity.label);
+        }
+        return labels;
+    }
+
+    private static String normalize(String label) {
+        StringBuilder key = new StringBuilder(label.length());
+        for (int i = 0; i < label.length(); i++) {
+            char c = label.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                key.append(Character.toLowerCase(c));
+            }
+        }
+        return key.toString();
+    }
+}
@@ -0,0 +1,74 @@
+package com.roommateai.model;
+
+import jakarta.persistence.*;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * CompatibilityScore entity caching the compatibility score of an unordered user pair
+ * Each row is tagged with both users' preference versions and the scoring model's fingerprint;
+ * a mismatch in any of them means the row is stale
+ */
+@Entity
+@Table(name = "compatibility_scores",
+       uniqueConstraints = @UniqueConstraint(name = "unique_pair", columnNames = {"user_low_id", "user_high_id"}))
+@EntityListeners(AuditingEntityListener.class)
+public class CompatibilityScore {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "user_low_id", nullable = false)
+    private Long userLowId;
+    
+    @Column(name = "user_high_id", nullable = false)
+    private Long userHighId;
+    
+    @Column(nullable = false)
+    private Integer lowVersion;
+    
+    @Column(nullable = false)
+    private Integer highVersion;
+    
+    @Column(nullable = false)
+    private Integer modelFingerprint;
+    
+    @Column(nullable = false, precision = 5, scale = 2)
+    private BigDecimal score;
+    
+    @LastModifiedDate
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+    
+    // Constructors
+    public CompatibilityScore() {}
+    
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public Long getUserLowId() { return userLowId; }
+    public void setUserLowId(Long userLowId) { this.userLowId = userLowId; }
+    
+    public Long getUserHighId() { return userHighId; }
+    public void setUserHighId(Long userHighId) { this.userHighId = userHighId; }
+    
+    public Integer getLowVersion() { return lowVersion; }
+    public void setLowVersion(Integer lowVersion) { this.lowVersion = lowVersion; }
+    
+    public Integer getHighVersion() { return highVersion; }
+    public void setHighVersion(Integer highVersion) { this.highVersion = highVersion; }
+    
+    public Integer getModelFingerprint() { return modelFingerprint; }
+    public void setModelFingerprint(Integer modelFingerprint) { this.modelFingerprint = modelFingerprint; }
+    
+    public BigDecimal getScore() { return score; }
+    public void setScore(BigDecimal score) { this.score = score; }
+    
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
@@ -12,9 +12,11 @@ import java.time.LocalDateTime;
 /**
  * Match entity representing roommate compatibility scores
  * Uses weighted algorithm to calculate compatibility between students
+ * Stored once per unordered pair: user1 always has the lower id, and each side has its own like flag
  */
 @Entity
-@Table(name = "matches")
+@Table(name = "matches",
+       uniqueConstraints = @UniqueConstraint(name = "unique_match", columnNames = {"user1_id", "user2_id"}))
 @EntityListeners(AuditingEntityListener.class)
 public class Match {
     
@@ -43,6 +45,12 @@ public class Match {
     @Column(nullable = false)
     private MatchStatus status = MatchStatus.PENDING;
     
+    @Column(nullable = false)
+    private Boolean user1Liked = false;
+    
+    @Column(nullable = false)
+    private Boolean user2Liked = false;
+    
     private LocalDateTime matchedAt;
     
     @CreatedDate
@@ -82,6 +90,12 @@ public class Match {
     public MatchStatus getStatus() { return status; }
     public void setStatus(MatchStatus status) { this.status = status; }
     
+    public Boolean getUser1Liked() { return user1Liked; }
+    public void setUser1Liked(Boolean user1Liked) { this.user1Liked = user1Liked; }
+    
+    public Boolean getUser2Liked() { return user2Liked; }
+    public void setUser2Liked(Boolean user2Liked) { this.user2Liked = user2Liked; }
+    
     public LocalDateTime getMatchedAt() { return matchedAt; }
     public void setMatchedAt(LocalDateTime matchedAt) { this.matchedAt = matchedAt; }
     
@@ -0,0 +1,71 @@
+package com.roommateai.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * MatchRecommendation entity holding a precomputed roommate recommendation
+ * Each user has up to N rows ordered by position (0 = best match)
+ */
+@Entity
+@Table(name = "match_recommendations",
+       indexes = @Index(name = "idx_user_position", columnList = "user_id, position"))
+public class MatchRecommendation {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @NotNull(message = "User is required")
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+    
+    @NotNull(message = "Candidate is required")
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "candidate_id", nullable = false)
+    private User candidate;
+    
+    @NotNull(message = "Score is required")
+    @Column(nullable = false, precision = 5, scale = 2)
+    private BigDecimal score;
+    
+    @Column(nullable = false)
+    private Integer position;
+    
+    @Column(nullable = false)
+    private LocalDateTime generatedAt;
+    
+    // Constructors
+    public MatchRecommendation() {}
+    
+    public MatchRecommendation(User user, User candidate, BigDecimal score, Integer position) {
+        this.user = user;
+        this.candidate = candidate;
+        this.score = score;
+        this.position = position;
+        this.generatedAt = LocalDateTime.now();
+    }
+    
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public User getUser() { return user; }
+    public void setUser(User user) { this.user = user; }
+    
+    public User getCandidate() { return candidate; }
+    public void setCandidate(User candidate) { this.candidate = candidate; }
+    
+    public BigDecimal getScore() { return score; }
+    public void setScore(BigDecimal score) { this.score = score; }
+    
+    public Integer getPosition() { return position; }
+    public void setPosition(Integer position) { this.position = position; }
+    
+    public LocalDateTime getGeneratedAt() { return generatedAt; }
+    public void setGeneratedAt(LocalDateTime generatedAt) { this.generatedAt = generatedAt; }
+}
@@ -16,7 +16,10 @@ import java.util.List;
  * Students can post and search for rentals near their college
  */
 @Entity
-@Table(name = "rentals")
+@Table(name = "rentals", indexes = {
+    @Index(name = "idx_available_city_rent", columnList = "is_available, city, rent"),
+    @Index(name = "idx_available_type_rent", columnList = "is_available, property_type, room_type, rent")
+})
 @EntityListeners(AuditingEntityListener.class)
 public class Rental {
     
@@ -77,6 +80,10 @@ public class Rental {
     @Column(columnDefinition = "JSON")
     private String amenitiesJson;
     
+    // One bit per canonical Amenity found in amenitiesJson
+    @Column(nullable = false)
+    private Long amenitiesMask = 0L;
+    
     @Column(columnDefinition = "JSON")
     private String imagesJson;
     
@@ -171,6 +178,9 @@ public class Rental {
     public String getAmenitiesJson() { return amenitiesJson; }
     public void setAmenitiesJson(String amenitiesJson) { this.amenitiesJson = amenitiesJson; }
     
+    public Long getAmenitiesMask() { return amenitiesMask; }
+    public void setAmenitiesMask(Long amenitiesMask) { this.amenitiesMask = amenitiesMask; }
+    
     public String getImagesJson() { return imagesJson; }
     public void setImagesJson(String imagesJson) { this.imagesJson = imagesJson; }
     
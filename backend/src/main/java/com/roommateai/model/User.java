@@ -8,6 +8,7 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * User entity representing college students
@@ -55,6 +56,10 @@ public class User {
     @Column(columnDefinition = "JSON")
     private String preferencesJson;
     
+    // Bumped on every preferences change; tags cached compatibility scores
+    @Column(nullable = false)
+    private Integer preferencesVersion = 0;
+    
     @Column(nullable = false)
     private Boolean isVerified = false;
     
@@ -128,7 +133,15 @@ public class User {
     public void setBio(String bio) { this.bio = bio; }
     
     public String getPreferencesJson() { return preferencesJson; }
-    public void setPreferencesJson(String preferencesJson) { this.preferencesJson = preferencesJson; }
+    public void setPreferencesJson(String preferencesJson) {
+        if (!Objects.equals(this.preferencesJson, preferencesJson)) {
+            preferencesVersion = preferencesVersion == null ? 1 : preferencesVersion + 1;
+        }
+        this.preferencesJson = preferencesJson;
+    }
+    
+    public Integer getPreferencesVersion() { return preferencesVersion; }
+    public void setPreferencesVersion(Integer preferencesVersion) { this.preferencesVersion = preferencesVersion; }
     
     public Boolean getIsVerified() { return isVerified; }
     public void setIsVerified(Boolean isVerified) { this.isVerified = isVerified; }
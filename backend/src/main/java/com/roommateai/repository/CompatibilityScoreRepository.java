@@ -0,0 +1,52 @@
+package com.roommateai.repository;
+
+import com.roommateai.model.CompatibilityScore;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Compatibility Score Repository
+ * Data access layer for the persisted pair-score cache
+ */
+@Repository
+public interface CompatibilityScoreRepository extends JpaRepository<CompatibilityScore, Long> {
+    
+    /**
+     * Most recently written scores of one scoring model, used to warm the in-memory cache
+     */
+    List<CompatibilityScore> findByModelFingerprintOrderByUpdatedAtDesc(Integer modelFingerprint, Pageable pageable);
+    
+    /**
+     * Insert or refresh the score for a pair
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO compatibility_scores (user_low_id, user_high_id, low_version, high_version, " +
+                   "model_fingerprint, score, updated_at) " +
+                   "VALUES (:lowId, :highId, :lowVersion, :highVersion, :modelFingerprint, :score, NOW()) " +
+                   "ON DUPLICATE KEY UPDATE low_version = VALUES(low_version), high_version = VALUES(high_version), " +
+                   "model_fingerprint = VALUES(model_fingerprint), score = VALUES(score), updated_at = NOW()",
+           nativeQuery = true)
+    int upsert(@Param("lowId") Long lowId,
+               @Param("highId") Long highId,
+               @Param("lowVersion") Integer lowVersion,
+               @Param("highVersion") Integer highVersion,
+               @Param("modelFingerprint") Integer modelFingerprint,
+               @Param("score") BigDecimal score);
+    
+    /**
+     * Delete every cached score involving a user
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM CompatibilityScore c WHERE c.userLowId = :userId OR c.userHighId = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+}
@@ -0,0 +1,54 @@
+package com.roommateai.repository;
+
+import com.roommateai.model.MatchRecommendation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Match Recommendation Repository
+ * Data access layer for precomputed roommate recommendations
+ */
+@Repository
+public interface MatchRecommendationRepository extends JpaRepository<MatchRecommendation, Long> {
+    
+    /**
+     * Find a user's recommendations best-first, with the candidate users fetched in the same query
+     */
+    @Query("SELECT r FROM MatchRecommendation r JOIN FETCH r.candidate " +
+           "WHERE r.user.id = :userId ORDER BY r.position")
+    List<MatchRecommendation> findByUserIdWithCandidate(@Param("userId") Long userId);
+    
+    /**
+     * Find a user's recommendations in position order (candidates not fetched)
+     */
+    @Query("SELECT r FROM MatchRecommendation r WHERE r.user.id = :userId ORDER BY r.position")
+    List<MatchRecommendation> findByUserId(@Param("userId") Long userId);
+    
+    /**
+     * Count and lowest score of the stored recommendations of each given user
+     * Each row is [userId, count, minScore]
+     */
+    @Query("SELECT r.user.id, COUNT(r), MIN(r.score) FROM MatchRecommendation r " +
+           "WHERE r.user.id IN :userIds GROUP BY r.user.id")
+    List<Object[]> findListStats(@Param("userIds") Collection<Long> userIds);
+    
+    /**
+     * Delete every recommendation pointing at a candidate
+     */
+    @Modifying
+    @Query("DELETE FROM MatchRecommendation r WHERE r.candidate.id = :candidateId")
+    int deleteByCandidateId(@Param("candidateId") Long candidateId);
+    
+    /**
+     * Delete all recommendations of a user
+     */
+    @Modifying
+    @Query("DELETE FROM MatchRecommendation r WHERE r.user.id = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+}
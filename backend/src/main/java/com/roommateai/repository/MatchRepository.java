@@ -1,12 +1,14 @@
 package com.roommateai.repository;
 
 import com.roommateai.model.Match;
-import com.roommateai.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
 
@@ -41,6 +43,43 @@ public interface MatchRepository extends JpaRepository<Match, Long> {
            "(m.user1.id = :user2Id AND m.user2.id = :user1Id)")
     Optional<Match> findMatchBetweenUsers(@Param("user1Id") Long user1Id, @Param("user2Id") Long user2Id);
     
+    /**
+     * Find the match row of a canonical pair (user1Id < user2Id)
+     */
+    Optional<Match> findByUser1IdAndUser2Id(Long user1Id, Long user2Id);
+    
+    /**
+     * Record a like on a canonical pair in one statement
+     * Inserts the row if missing; otherwise sets the liking side's flag and, when both sides
+     * have now liked a LIKED/PENDING pair, flips it to MATCHED. Rejected pairs stay rejected.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "INSERT INTO matches (user1_id, user2_id, compatibility_score, status, user1_liked, user2_liked, created_at, updated_at) " +
+                   "VALUES (:lowId, :highId, :score, 'LIKED', :lowLiked, :highLiked, NOW(), NOW()) " +
+                   "ON DUPLICATE KEY UPDATE " +
+                   "matched_at = IF(status IN ('PENDING', 'LIKED') AND (user1_liked OR :lowLiked) AND (user2_liked OR :highLiked), NOW(), matched_at), " +
+                   "status = IF(status IN ('PENDING', 'LIKED') AND (user1_liked OR :lowLiked) AND (user2_liked OR :highLiked), 'MATCHED', " +
+                   "IF(status = 'PENDING', 'LIKED', status)), " +
+                   "user1_liked = user1_liked OR :lowLiked, " +
+                   "user2_liked = user2_liked OR :highLiked, " +
+                   "updated_at = NOW()",
+           nativeQuery = true)
+    int upsertLike(@Param("lowId") Long lowId,
+                   @Param("highId") Long highId,
+                   @Param("score") BigDecimal score,
+                   @Param("lowLiked") boolean lowLiked,
+                   @Param("highLiked") boolean highLiked);
+    
+    /**
+     * Record a pass on a canonical pair in one statement
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "INSERT INTO matches (user1_id, user2_id, compatibility_score, status, user1_liked, user2_liked, created_at, updated_at) " +
+                   "VALUES (:lowId, :highId, 0, 'REJECTED', FALSE, FALSE, NOW(), NOW()) " +
+                   "ON DUPLICATE KEY UPDATE status = 'REJECTED', updated_at = NOW()",
+           nativeQuery = true)
+    int upsertPass(@Param("lowId") Long lowId, @Param("highId") Long highId);
+    
     /**
      * Find matches by status
      */
@@ -75,13 +114,29 @@ public interface MatchRepository extends JpaRepository<Match, Long> {
     List<Match> findMatchedPairsForUser(@Param("userId") Long userId);
     
     /**
-     * Find top compatible users for matching
+     * Find (id, user1Id, user2Id) of match rows after the given id, in id order
+     */
+    @Query("SELECT m.id, m.user1.id, m.user2.id FROM Match m WHERE m.id > :afterId ORDER BY m.id")
+    List<Object[]> findPairsAfter(@Param("afterId") Long afterId, Pageable pageable);
+    
+    /**
+     * Find ids of every user the given user already has a match row with
+     */
+    @Query("SELECT CASE WHEN m.user1.id = :userId THEN m.user2.id ELSE m.user1.id END " +
+           "FROM Match m WHERE m.user1.id = :userId OR m.user2.id = :userId")
+    List<Long> findInteractedUserIds(@Param("userId") Long userId);
+    
+    /**
+     * Count a user's matches per status in one query, as [status, count] rows
+     * Two index range scans (one per side of the pair) instead of an OR over both columns
      */
-    @Query("SELECT u FROM User u WHERE u.id != :userId AND u.isActive = true AND u.role = 'STUDENT' " +
-           "AND u.id NOT IN (SELECT CASE WHEN m.user1.id = :userId THEN m.user2.id ELSE m.user1.id END " +
-           "FROM Match m WHERE m.user1.id = :userId OR m.user2.id = :userId) " +
-           "ORDER BY u.createdAt DESC")
-    List<User> findPotentialMatches(@Param("userId") Long userId);
+    @Query(value = "SELECT status, COUNT(*) FROM (" +
+                   "SELECT status FROM matches WHERE user1_id = :userId " +
+                   "UNION ALL " +
+                   "SELECT status FROM matches WHERE user2_id = :userId" +
+                   ") user_matches GROUP BY status",
+           nativeQuery = true)
+    List<Object[]> countByStatusForUser(@Param("userId") Long userId);
     
     /**
      * Count matches by status for a user
@@ -0,0 +1,21 @@
+package com.roommateai.repository;
+
+import com.roommateai.dto.RentalCardResponse;
+import com.roommateai.model.Rental;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * Rental Card Repository
+ * Listing-card projections for RentalRepository, selected straight into RentalCardResponse
+ */
+public interface RentalCardRepository {
+
+    /**
+     * Up to {@code limit} cards of the rentals matching the specification, in the given order
+     * The specification must not fetch associations, since only card columns are selected
+     */
+    List<RentalCardResponse> findCards(Specification<Rental> spec, Sort sort, int limit);
+}
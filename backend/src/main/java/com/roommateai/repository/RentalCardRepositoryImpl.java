@@ -0,0 +1,44 @@
+package com.roommateai.repository;
+
+import com.roommateai.dto.RentalCardResponse;
+import com.roommateai.model.Rental;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.List;
+
+/**
+ * Rental Card Repository implementation
+ * A Criteria query per call, so only the predicates of the criteria actually set reach MySQL
+ */
+public class RentalCardRepositoryImpl implements RentalCardRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<RentalCardResponse> findCards(Specification<Rental> spec, Sort sort, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<RentalCardResponse> query = cb.createQuery(RentalCardResponse.class);
+        Root<Rental> root = query.from(Rental.class);
+
+        query.select(cb.construct(RentalCardResponse.class,
+                root.get("id"), root.get("title"), root.get("rent"), root.get("city"), root.get("state"),
+                root.get("propertyType"), root.get("roomType"), root.get("isVerified"),
+                root.get("latitude"), root.get("longitude"), root.get("createdAt")));
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(sort, root, cb));
+
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+}
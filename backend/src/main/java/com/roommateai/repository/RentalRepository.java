@@ -1,34 +1,56 @@
 package com.roommateai.repository;
 
 import com.roommateai.model.Rental;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Rental Repository
  * Data access layer for Rental entity
  */
 @Repository
-public interface RentalRepository extends JpaRepository<Rental, Long> {
+public interface RentalRepository extends JpaRepository<Rental, Long>, JpaSpecificationExecutor<Rental>,
+        RentalCardRepository {
+    
+    /**
+     * Find a rental with its owner loaded
+     */
+    @Override
+    @EntityGraph(attributePaths = "owner")
+    Optional<Rental> findById(Long id);
     
     /**
      * Find rentals by owner
      */
+    @EntityGraph(attributePaths = "owner")
     List<Rental> findByOwnerId(Long ownerId);
     
     /**
      * Find available rentals
      */
+    @EntityGraph(attributePaths = "owner")
     List<Rental> findByIsAvailable(Boolean isAvailable);
     
+    /**
+     * Find available rentals with their owners loaded
+     */
+    @Query("SELECT r FROM Rental r JOIN FETCH r.owner WHERE r.isAvailable = true")
+    List<Rental> findAvailableWithOwner();
+    
     /**
      * Find rentals by city
      */
+    @EntityGraph(attributePaths = "owner")
     List<Rental> findByCity(String city);
     
     /**
@@ -49,6 +71,7 @@ public interface RentalRepository extends JpaRepository<Rental, Long> {
     /**
      * Find rentals within price range
      */
+    @EntityGraph(attributePaths = "owner")
     List<Rental> findByRentBetween(BigDecimal minRent, BigDecimal maxRent);
     
     /**
@@ -57,42 +80,29 @@ public interface RentalRepository extends JpaRepository<Rental, Long> {
     List<Rental> findByIsVerified(Boolean isVerified);
     
     /**
-     * Search rentals by title or description
+     * Find available rentals inside a latitude/longitude bounding box
+     * Plain range predicates, so idx_coordinates narrows the scan; owners are fetched in the same query
      */
-    @Query("SELECT r FROM Rental r WHERE " +
-           "(LOWER(r.title) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-           "LOWER(r.description) LIKE LOWER(CONCAT('%', :searchTerm, '%'))) AND " +
+    @Query("SELECT r FROM Rental r JOIN FETCH r.owner WHERE " +
+           "r.latitude BETWEEN :minLat AND :maxLat AND " +
+           "r.longitude BETWEEN :minLng AND :maxLng AND " +
            "r.isAvailable = true")
-    List<Rental> searchByTitleOrDescription(@Param("searchTerm") String searchTerm);
+    List<Rental> findAvailableInBoundingBox(@Param("minLat") BigDecimal minLatitude,
+                                            @Param("maxLat") BigDecimal maxLatitude,
+                                            @Param("minLng") BigDecimal minLongitude,
+                                            @Param("maxLng") BigDecimal maxLongitude);
     
     /**
-     * Find rentals near coordinates (within radius)
+     * Find (id, amenitiesJson) of rentals whose amenities mask was never computed, after the given id
      */
-    @Query("SELECT r FROM Rental r WHERE " +
-           "r.latitude IS NOT NULL AND r.longitude IS NOT NULL AND " +
-           "r.isAvailable = true AND " +
-           "(6371 * acos(cos(radians(:lat)) * cos(radians(r.latitude)) * " +
-           "cos(radians(r.longitude) - radians(:lng)) + " +
-           "sin(radians(:lat)) * sin(radians(r.latitude)))) <= :radius")
-    List<Rental> findNearbyRentals(@Param("lat") BigDecimal latitude, 
-                                  @Param("lng") BigDecimal longitude, 
-                                  @Param("radius") Double radiusKm);
+    @Query("SELECT r.id, r.amenitiesJson FROM Rental r WHERE r.amenitiesMask = 0 AND " +
+           "r.amenitiesJson IS NOT NULL AND r.id > :afterId ORDER BY r.id")
+    List<Object[]> findUnmaskedAmenitiesAfter(@Param("afterId") Long afterId, Pageable pageable);
     
     /**
-     * Find rentals by multiple criteria
+     * Set a rental's amenities mask without touching its other columns
      */
-    @Query("SELECT r FROM Rental r WHERE " +
-           "(:city IS NULL OR r.city = :city) AND " +
-           "(:state IS NULL OR r.state = :state) AND " +
-           "(:minRent IS NULL OR r.rent >= :minRent) AND " +
-           "(:maxRent IS NULL OR r.rent <= :maxRent) AND " +
-           "(:propertyType IS NULL OR r.propertyType = :propertyType) AND " +
-           "(:roomType IS NULL OR r.roomType = :roomType) AND " +
-           "r.isAvailable = true")
-    List<Rental> findByMultipleCriteria(@Param("city") String city,
-                                        @Param("state") String state,
-                                        @Param("minRent") BigDecimal minRent,
-                                        @Param("maxRent") BigDecimal maxRent,
-                                        @Param("propertyType") Rental.PropertyType propertyType,
-                                        @Param("roomType") Rental.RoomType roomType);
+    @Modifying
+    @Query("UPDATE Rental r SET r.amenitiesMask = :mask WHERE r.id = :id")
+    int updateAmenitiesMask(@Param("id") Long id, @Param("mask") Long mask);
 }
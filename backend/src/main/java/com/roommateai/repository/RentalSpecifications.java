@@ -0,0 +1,242 @@
+package com.roommateai.repository;
+
+import com.roommateai.model.Rental;
+import com.roommateai.model.User;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Fetch;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Rental Specifications
+ * Composable query predicates for rental searches, used with RentalRepository.findAll(Specification)
+ */
+public final class RentalSpecifications {
+
+    private RentalSpecifications() {}
+
+    /**
+     * Only available rentals
+     */
+    public static Specification<Rental> isAvailable() {
+        return (root, query, cb) -> cb.isTrue(root.get("isAvailable"));
+    }
+
+    /**
+     * Load the owner in the same query
+     */
+    public static Specification<Rental> fetchOwner() {
+        return (root, query, cb) -> {
+            ownerJoin(root, query);
+            return null;
+        };
+    }
+
+    /**
+     * Available rentals matching whichever criteria are set, owners fetched
+     * Only non-null criteria become predicates, so the query shape (and the index MySQL picks)
+     * follows the filters actually used instead of (:x IS NULL OR r.x = :x) for every column
+     */
+    public static Specification<Rental> matchingCriteria(String city, String state,
+                                                         BigDecimal minRent, BigDecimal maxRent,
+                                                         Rental.PropertyType propertyType,
+                                                         Rental.RoomType roomType) {
+        return Specification.where(isAvailable()).and(fetchOwner())
+                .and(hasCriteria(city, state, minRent, maxRent, propertyType, roomType));
+    }
+
+    /**
+     * Whichever criteria are set, without the availability check or owner fetch
+     * (for projections such as listing cards); null when no criterion is set
+     */
+    public static Specification<Rental> hasCriteria(String city, String state,
+                                                    BigDecimal minRent, BigDecimal maxRent,
+                                                    Rental.PropertyType propertyType,
+                                                    Rental.RoomType roomType) {
+        Specification<Rental> spec = Specification.where(null);
+        if (city != null) {
+            spec = spec.and(cityEquals(city));
+        }
+        if (state != null) {
+            spec = spec.and(stateEquals(state));
+        }
+        if (propertyType != null) {
+            spec = spec.and((root, query, cb) -> cb.equal(root.get("propertyType"), propertyType));
+        }
+        if (roomType != null) {
+            spec = spec.and((root, query, cb) -> cb.equal(root.get("roomType"), roomType));
+        }
+        if (minRent != null) {
+            spec = spec.and(rentAtLeast(minRent));
+        }
+        if (maxRent != null) {
+            spec = spec.and(rentAtMost(maxRent));
+        }
+        return spec;
+    }
+
+    public static Specification<Rental> cityEquals(String city) {
+        return (root, query, cb) -> cb.equal(root.get("city"), city);
+    }
+
+    public static Specification<Rental> stateEquals(String state) {
+        return (root, query, cb) -> cb.equal(root.get("state"), state);
+    }
+
+    public static Specification<Rental> rentAtLeast(BigDecimal minRent) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("rent"), minRent);
+    }
+
+    public static Specification<Rental> rentAtMost(BigDecimal maxRent) {
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("rent"), maxRent);
+    }
+
+    /**
+     * Deposit at most maxDeposit; rentals without a deposit always match
+     */
+    public static Specification<Rental> depositAtMost(BigDecimal maxDeposit) {
+        return (root, query, cb) -> cb.or(cb.isNull(root.get("deposit")),
+                cb.lessThanOrEqualTo(root.get("deposit"), maxDeposit));
+    }
+
+    /**
+     * Rows after the (rent, id) keyset position, for pages sorted cheapest first
+     */
+    public static Specification<Rental> afterRentPosition(BigDecimal afterRent, Long afterId) {
+        return (root, query, cb) -> cb.or(cb.greaterThan(root.get("rent"), afterRent),
+                cb.and(cb.equal(root.get("rent"), afterRent), cb.greaterThan(root.get("id"), afterId)));
+    }
+
+    /**
+     * Rows after the (createdAt, id) keyset position, for pages sorted newest first
+     */
+    public static Specification<Rental> afterNewestPosition(LocalDateTime afterCreatedAt, Long afterId) {
+        return (root, query, cb) -> cb.or(cb.lessThan(root.get("createdAt"), afterCreatedAt),
+                cb.and(cb.equal(root.get("createdAt"), afterCreatedAt), cb.lessThan(root.get("id"), afterId)));
+    }
+
+    /**
+     * City starting with the given text
+     * A prefix pattern (no LOWER) so idx_location can be used; the column collation is case-insensitive
+     */
+    public static Specification<Rental> cityStartsWith(String city) {
+        return (root, query, cb) -> cb.like(root.get("city"), escapeLike(city) + "%", '\\');
+    }
+
+    /**
+     * State starting with the given text
+     */
+    public static Specification<Rental> stateStartsWith(String state) {
+        return (root, query, cb) -> cb.like(root.get("state"), escapeLike(state) + "%", '\\');
+    }
+
+    /**
+     * Property type by name; an unknown name matches nothing
+     */
+    public static Specification<Rental> hasPropertyType(String propertyType) {
+        return (root, query, cb) -> {
+            for (Rental.PropertyType type : Rental.PropertyType.values()) {
+                if (type.name().equals(propertyType)) {
+                    return cb.equal(root.get("propertyType"), type);
+                }
+            }
+            return cb.disjunction();
+        };
+    }
+
+    /**
+     * Room type by name; an unknown name matches nothing
+     */
+    public static Specification<Rental> hasRoomType(String roomType) {
+        return (root, query, cb) -> {
+            for (Rental.RoomType type : Rental.RoomType.values()) {
+                if (type.name().equals(roomType)) {
+                    return cb.equal(root.get("roomType"), type);
+                }
+            }
+            return cb.disjunction();
+        };
+    }
+
+    /**
+     * Every amenity in the mask (see Amenity)
+     * A bitwise AND on the amenities_mask column instead of scanning the JSON text
+     */
+    public static Specification<Rental> hasAllAmenities(long mask) {
+        return (root, query, cb) -> cb.equal(
+                cb.function("bitand", Long.class, root.get("amenitiesMask"), cb.literal(mask)), mask);
+    }
+
+    /**
+     * Amenities JSON listing the given amenity as a whole entry (case-insensitive)
+     * For amenities outside the canonical list, which have no bit in amenities_mask
+     */
+    public static Specification<Rental> listsAmenity(String amenity) {
+        return (root, query, cb) -> cb.like(cb.lower(root.get("amenitiesJson")),
+                "%\"" + escapeLike(amenity.toLowerCase()) + "\"%", '\\');
+    }
+
+    /**
+     * Title or description with a word starting with each token (the RentalTextIndex matching)
+     * Tokens are letter/digit runs, so they need no regex escaping; REGEXP_LIKE follows the
+     * columns' case-insensitive collation
+     */
+    public static Specification<Rental> hasWordsStartingWith(List<String> tokens) {
+        return (root, query, cb) -> {
+            Predicate[] predicates = new Predicate[tokens.size()];
+            for (int i = 0; i < predicates.length; i++) {
+                String pattern = "(^|[^[:alnum:]])" + tokens.get(i);
+                predicates[i] = cb.or(regexpLike(cb, root.get("title"), pattern),
+                        regexpLike(cb, root.get("description"), pattern));
+            }
+            return cb.and(predicates);
+        };
+    }
+
+    /**
+     * Owner's college containing the given text (case-insensitive)
+     */
+    public static Specification<Rental> ownerCollegeContains(String college) {
+        return (root, query, cb) -> cb.like(cb.lower(ownerJoin(root, query).get("college")),
+                "%" + escapeLike(college.toLowerCase()) + "%", '\\');
+    }
+
+    /**
+     * Join the owner once per query: a fetch join for entity queries, a plain join for count queries
+     */
+    @SuppressWarnings("unchecked")
+    private static Join<Rental, User> ownerJoin(Root<Rental> root, CriteriaQuery<?> query) {
+        for (Fetch<Rental, ?> fetch : root.getFetches()) {
+            if (fetch.getAttribute().getName().equals("owner")) {
+                return (Join<Rental, User>) fetch;
+            }
+        }
+        for (Join<Rental, ?> join : root.getJoins()) {
+            if (join.getAttribute().getName().equals("owner")) {
+                return (Join<Rental, User>) join;
+            }
+        }
+        Class<?> resultType = query.getResultType();
+        if (resultType == Long.class || resultType == long.class) {
+            return root.join("owner", JoinType.INNER);
+        }
+        return (Join<Rental, User>) root.<Rental, User>fetch("owner", JoinType.INNER);
+    }
+
+    private static Predicate regexpLike(CriteriaBuilder cb, Expression<String> column, String pattern) {
+        return cb.equal(cb.function("regexp_like", Integer.class, column, cb.literal(pattern)), 1);
+    }
+
+    private static String escapeLike(String text) {
+        return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -41,6 +41,17 @@ public interface UserRepository extends JpaRepository<User, Long> {
      */
     List<User> findByRole(User.UserRole role);
     
+    /**
+     * Find active users by role
+     */
+    List<User> findByRoleAndIsActive(User.UserRole role, Boolean isActive);
+    
+    /**
+     * Find colleges that have at least one active student
+     */
+    @Query("SELECT DISTINCT u.college FROM User u WHERE u.isActive = true AND u.role = 'STUDENT'")
+    List<String> findActiveStudentColleges();
+    
     /**
      * Find active users
      */
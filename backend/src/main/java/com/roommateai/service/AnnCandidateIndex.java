@@ -0,0 +1,269 @@
+package com.roommateai.service;
+
+import com.roommateai.model.User;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * ANN Candidate Index
+ * One HNSW graph over preference embeddings per college that is too large to scan
+ * (at least matching.ann.min-partition-size students). Live matching retrieves a few hundred
+ * approximate neighbours from it and re-ranks them with the exact formula.
+ * Graphs are persisted to a memory-mapped file and reconciled with the CandidateIndex on load,
+ * so a restart only re-inserts users whose preferences changed in the meantime.
+ */
+@Component
+public class AnnCandidateIndex {
+
+    private static final int MAGIC = 0x524D414E; // "RMAN"
+    private static final int FORMAT_VERSION = 1;
+
+    @Autowired
+    private CandidateIndex candidateIndex;
+
+    @Value("${matching.ann.enabled:true}")
+    private boolean enabled;
+
+    @Value("${matching.ann.min-partition-size:20000}")
+    private int minPartitionSize;
+
+    @Value("${matching.ann.candidates:500}")
+    private int annCandidates;
+
+    @Value("${matching.ann.m:16}")
+    private int m;
+
+    @Value("${matching.ann.ef-construction:100}")
+    private int efConstruction;
+
+    @Value("${matching.ann.index-file:data/ann-index.bin}")
+    private String indexFile;
+
+    private final Map<String, HnswGraph> graphs = new ConcurrentHashMap<>();
+    private volatile boolean ready;
+    private final ExecutorService builder = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "ann-index-builder");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Load the persisted graphs and bring them up to date in the background
+     * Runs after the CandidateIndex has loaded, since it is built from it
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void load() {
+        if (!enabled) {
+            return;
+        }
+        builder.execute(() -> {
+            try {
+                graphs.putAll(readFile());
+            } catch (IOException | RuntimeException e) {
+                // Unreadable or incompatible file: rebuild from scratch
+            }
+            synchronizeWithCandidateIndex();
+            ready = true;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        builder.shutdown();
+        if (ready) {
+            try {
+                writeFile();
+            } catch (IOException e) {
+                // The next start reconciles from the previous file (or rebuilds)
+            }
+        }
+    }
+
+    /**
+     * Get approximate nearest neighbours for a user from their college's graph, closest first.
+     * Returns null when no graph covers the college (or it is busy), so callers use the exact path.
+     */
+    public List<IndexedUser> neighbours(long userId, String college, PreferenceVector prefs,
+                                        LongHashSet excluded, int wanted) {
+        if (!ready || college == null) {
+            return null;
+        }
+        HnswGraph graph = graphs.get(college);
+        if (graph == null) {
+            return null;
+        }
+
+        int k = Math.max(wanted, annCandidates);
+        // Widen the beam by the number of ids the filter is likely to drop
+        int ef = k + Math.min(excluded.size(), k);
+        long[] ids = graph.search(PreferenceEmbedding.embed(prefs), k, ef,
+                id -> id != userId && !excluded.contains(id));
+        if (ids == null) {
+            return null;
+        }
+
+        List<IndexedUser> neighbours = new ArrayList<>(ids.length);
+        for (long id : ids) {
+            IndexedUser entry = candidateIndex.get(id);
+            if (entry != null) {
+                neighbours.add(entry);
+            }
+        }
+        return neighbours;
+    }
+
+    /**
+     * Bring a user's node up to date after it was created or updated
+     * (call after the CandidateIndex has been updated)
+     */
+    public void upsert(User user) {
+        if (!ready || user.getId() == null) {
+            return;
+        }
+        IndexedUser entry = candidateIndex.get(user.getId());
+        for (Map.Entry<String, HnswGraph> graph : graphs.entrySet()) {
+            if (entry == null || !graph.getKey().equals(entry.getCollege())) {
+                graph.getValue().remove(user.getId());
+            }
+        }
+        if (entry != null) {
+            HnswGraph graph = graphs.get(entry.getCollege());
+            if (graph != null) {
+                graph.insert(entry.getId(), entry.getVector().getVersion(), PreferenceEmbedding.embed(entry.getVector()));
+            }
+        }
+    }
+
+    /**
+     * Periodic upkeep: create or drop graphs as colleges cross the size threshold,
+     * catch up with any missed updates, compact fragmented graphs and persist
+     */
+    @Scheduled(fixedDelayString = "${matching.ann.maintenance-interval-ms:600000}")
+    public void maintain() {
+        if (!ready) {
+            return;
+        }
+        synchronizeWithCandidateIndex();
+        for (HnswGraph graph : graphs.values()) {
+            if (graph.deletedRatio() > 0.3) {
+                graph.compact();
+            }
+        }
+        try {
+            writeFile();
+        } catch (IOException e) {
+            // Keep serving from memory; the next run tries again
+        }
+    }
+
+    private void synchronizeWithCandidateIndex() {
+        Map<String, List<IndexedUser>> byCollege = new HashMap<>();
+        for (IndexedUser entry : candidateIndex.all()) {
+            if (entry.getCollege() != null) {
+                byCollege.computeIfAbsent(entry.getCollege(), c -> new ArrayList<>()).add(entry);
+            }
+        }
+        graphs.keySet().removeIf(college ->
+                byCollege.getOrDefault(college, List.of()).size() < minPartitionSize);
+
+        for (Map.Entry<String, List<IndexedUser>> college : byCollege.entrySet()) {
+            if (college.getValue().size() < minPartitionSize) {
+                continue;
+            }
+            HnswGraph graph = graphs.computeIfAbsent(college.getKey(), c -> new HnswGraph(m, efConstruction));
+            Map<Long, Integer> live = graph.liveVersions();
+            for (IndexedUser entry : college.getValue()) {
+                Integer version = live.remove(entry.getId());
+                if (version == null || version != entry.getVector().getVersion()) {
+                    graph.insert(entry.getId(), entry.getVector().getVersion(),
+                            PreferenceEmbedding.embed(entry.getVector()));
+                }
+            }
+            // Whatever is left no longer belongs to this college's partition
+            for (Long staleId : live.keySet()) {
+                graph.remove(staleId);
+            }
+        }
+    }
+
+    // ---- Persistence ----
+
+    private synchronized void writeFile() throws IOException {
+        Map<String, ByteBuffer> snapshots = new HashMap<>();
+        long size = 4 * 5;
+        for (Map.Entry<String, HnswGraph> graph : graphs.entrySet()) {
+            ByteBuffer snapshot = graph.getValue().serialize();
+            snapshots.put(graph.getKey(), snapshot);
+            size += 4 + graph.getKey().getBytes(StandardCharsets.UTF_8).length + snapshot.remaining();
+        }
+
+        Path target = Paths.get(indexFile);
+        Path parent = target.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer out = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            out.putInt(MAGIC).putInt(FORMAT_VERSION).putInt(PreferenceEmbedding.DIMENSIONS).putInt(m);
+            out.putInt(snapshots.size());
+            for (Map.Entry<String, ByteBuffer> snapshot : snapshots.entrySet()) {
+                byte[] college = snapshot.getKey().getBytes(StandardCharsets.UTF_8);
+                out.putInt(college.length).put(college);
+                out.put(snapshot.getValue());
+            }
+            out.force();
+        }
+        // Readers only ever see a complete file
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private Map<String, HnswGraph> readFile() throws IOException {
+        Map<String, HnswGraph> loaded = new HashMap<>();
+        Path source = Paths.get(indexFile);
+        if (!Files.isRegularFile(source)) {
+            return loaded;
+        }
+        try (FileChannel channel = FileChannel.open(source, StandardOpenOption.READ)) {
+            MappedByteBuffer in = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (in.getInt() != MAGIC || in.getInt() != FORMAT_VERSION
+                    || in.getInt() != PreferenceEmbedding.DIMENSIONS || in.getInt() != m) {
+                return loaded;
+            }
+            int graphCount = in.getInt();
+            for (int i = 0; i < graphCount; i++) {
+                byte[] college = new byte[in.getInt()];
+                in.get(college);
+                loaded.put(new String(college, StandardCharsets.UTF_8), HnswGraph.readFrom(in, m, efConstruction));
+            }
+        }
+        return loaded;
+    }
+}
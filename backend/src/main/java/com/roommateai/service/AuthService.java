@@ -24,6 +24,24 @@ public class AuthService {
     @Autowired
     private JwtTokenUtil jwtTokenUtil;
 
+    @Autowired
+    private PreferenceVectorCache preferenceVectorCache;
+
+    @Autowired
+    private CandidateIndex candidateIndex;
+
+    @Autowired
+    private CompatibilityScoreCache compatibilityScoreCache;
+
+    @Autowired
+    private UserChangeQueue userChangeQueue;
+
+    @Autowired
+    private SwipeDeckService swipeDeckService;
+
+    @Autowired
+    private AnnCandidateIndex annCandidateIndex;
+
     /**
      * Check if email already exists
      */
@@ -46,7 +64,12 @@ public class AuthService {
         user.setIsActive(true);
         user.setRole(User.UserRole.STUDENT);
 
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        preferenceVectorCache.refresh(savedUser);
+        candidateIndex.upsert(savedUser);
+        annCandidateIndex.upsert(savedUser);
+        userChangeQueue.publish(savedUser.getId());
+        return savedUser;
     }
 
     /**
@@ -102,6 +125,16 @@ public class AuthService {
      * Update user profile
      */
     public User updateUser(User user) {
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        PreferenceVector previous = preferenceVectorCache.peek(savedUser.getId());
+        if (previous == null || previous.getVersion() != savedUser.getPreferencesVersion()) {
+            compatibilityScoreCache.invalidateUser(savedUser.getId());
+            swipeDeckService.invalidate(savedUser.getId());
+        }
+        preferenceVectorCache.refresh(savedUser);
+        candidateIndex.upsert(savedUser);
+        annCandidateIndex.upsert(savedUser);
+        userChangeQueue.publish(savedUser.getId());
+        return savedUser;
     }
 }
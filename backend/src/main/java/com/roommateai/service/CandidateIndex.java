@@ -0,0 +1,181 @@
+package com.roommateai.service;
+
+import com.roommateai.model.User;
+import com.roommateai.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Candidate Index
+ * In-memory index of active students partitioned by college and budget band.
+ * Lets matching score a bounded candidate set instead of scanning the users table.
+ */
+@Component
+public class CandidateIndex {
+
+    /** Band for users without a budget preference; always considered */
+    public static final int UNKNOWN_BAND = -1;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PreferenceVectorCache preferenceVectorCache;
+
+    @Value("${matching.index.budget-band-width:2000}")
+    private int budgetBandWidth;
+
+    @Value("${matching.index.max-candidates:20000}")
+    private int maxCandidates;
+
+    // college -> budget band -> userId -> entry
+    private final Map<String, Map<Integer, Map<Long, IndexedUser>>> partitions = new ConcurrentHashMap<>();
+    private final Map<Long, IndexedUser> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Load all active students once the application is up
+     * Runs first, since other indexes are built from this one
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void load() {
+        for (User user : userRepository.findByRoleAndIsActive(User.UserRole.STUDENT, true)) {
+            upsert(user);
+        }
+    }
+
+    /**
+     * Add, move or remove a user after it was created or updated
+     */
+    public void upsert(User user) {
+        if (user.getId() == null) {
+            return;
+        }
+        if (!Boolean.TRUE.equals(user.getIsActive()) || user.getRole() != User.UserRole.STUDENT) {
+            remove(user.getId());
+            return;
+        }
+
+        PreferenceVector vector = preferenceVectorCache.get(user);
+        IndexedUser entry = new IndexedUser(user.getId(), user.getCollege(), bandOf(vector), vector);
+        IndexedUser previous = entries.put(entry.getId(), entry);
+        if (previous != null) {
+            partitionOf(previous).remove(previous.getId());
+        }
+        partitionOf(entry).put(entry.getId(), entry);
+    }
+
+    /**
+     * Remove a user from the index
+     */
+    public void remove(Long userId) {
+        IndexedUser previous = entries.remove(userId);
+        if (previous != null) {
+            partitionOf(previous).remove(userId);
+        }
+    }
+
+    /**
+     * Get the indexed entry for a user, if present
+     */
+    public IndexedUser get(Long userId) {
+        return entries.get(userId);
+    }
+
+    /**
+     * Collect a bounded candidate set for a user.
+     * Starts with the user's own college, walking outwards from their budget band,
+     * and only widens to other colleges when the college cannot fill {@code wanted} slots.
+     */
+    public List<IndexedUser> candidatesFor(long userId, String college, PreferenceVector vector,
+                                           LongHashSet excluded, int wanted) {
+        List<IndexedUser> candidates = new ArrayList<>();
+        Map<Integer, Map<Long, IndexedUser>> ownCollege = college != null ? partitions.get(college) : null;
+
+        if (ownCollege != null) {
+            collect(ownCollege.get(UNKNOWN_BAND), userId, excluded, candidates);
+            int band = bandOf(vector);
+            if (band == UNKNOWN_BAND) {
+                for (Map.Entry<Integer, Map<Long, IndexedUser>> partition : ownCollege.entrySet()) {
+                    if (partition.getKey() != UNKNOWN_BAND) {
+                        collect(partition.getValue(), userId, excluded, candidates);
+                    }
+                }
+            } else {
+                int maxBand = ownCollege.keySet().stream().mapToInt(Integer::intValue).max().orElse(band);
+                for (int offset = 0; candidates.size() < maxCandidates; offset++) {
+                    int below = band - offset;
+                    int above = band + offset;
+                    if (below < 0 && above > maxBand) {
+                        break;
+                    }
+                    if (below >= 0) {
+                        collect(ownCollege.get(below), userId, excluded, candidates);
+                    }
+                    if (offset > 0 && above <= maxBand) {
+                        collect(ownCollege.get(above), userId, excluded, candidates);
+                    }
+                }
+            }
+        }
+
+        if (candidates.size() < wanted) {
+            for (Map.Entry<String, Map<Integer, Map<Long, IndexedUser>>> other : partitions.entrySet()) {
+                if (other.getKey().equals(college)) {
+                    continue;
+                }
+                for (Map<Long, IndexedUser> partition : other.getValue().values()) {
+                    collect(partition, userId, excluded, candidates);
+                }
+            }
+        }
+
+        return candidates;
+    }
+
+    private void collect(Map<Long, IndexedUser> partition, long userId, LongHashSet excluded,
+                         List<IndexedUser> candidates) {
+        if (partition == null) {
+            return;
+        }
+        for (IndexedUser entry : partition.values()) {
+            if (candidates.size() >= maxCandidates) {
+                return;
+            }
+            if (entry.getId() != userId && !excluded.contains(entry.getId())) {
+                candidates.add(entry);
+            }
+        }
+    }
+
+    /**
+     * All indexed entries (snapshot view)
+     */
+    public Collection<IndexedUser> all() {
+        return entries.values();
+    }
+
+    private int bandOf(PreferenceVector vector) {
+        if (!vector.hasBudget() || vector.getBudget() < 0) {
+            return UNKNOWN_BAND;
+        }
+        return vector.getBudget() / budgetBandWidth;
+    }
+
+    private Map<Long, IndexedUser> partitionOf(IndexedUser entry) {
+        return partitions
+                .computeIfAbsent(entry.getCollege(), c -> new ConcurrentHashMap<>())
+                .computeIfAbsent(entry.getBudgetBand(), b -> new ConcurrentHashMap<>());
+    }
+}
@@ -0,0 +1,111 @@
+package com.roommateai.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Candidate Ranker
+ * Scores candidates against a user and keeps the top K.
+ * Large candidate pools are split across a dedicated ForkJoinPool; each worker keeps a
+ * bounded local top-K and the partial heaps are merged on the way back up.
+ */
+@Component
+public class CandidateRanker {
+
+    @Value("${matching.parallel.enabled:true}")
+    private boolean parallelEnabled;
+
+    @Value("${matching.parallel.threshold:4096}")
+    private int parallelThreshold;
+
+    @Value("${matching.parallel.parallelism:0}")
+    private int parallelism;
+
+    private ForkJoinPool scoringPool;
+
+    @PostConstruct
+    public void startPool() {
+        if (parallelEnabled) {
+            int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+            scoringPool = new ForkJoinPool(threads, pool -> {
+                var worker = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                worker.setName("match-scoring-" + worker.getPoolIndex());
+                return worker;
+            }, null, false);
+        }
+    }
+
+    @PreDestroy
+    public void stopPool() {
+        if (scoringPool != null) {
+            scoringPool.shutdown();
+        }
+    }
+
+    /**
+     * Rank candidates against a user's preferences, returning the best {@code k} sorted best-first
+     */
+    public TopKHeap rank(PreferenceVector selfPrefs, List<IndexedUser> candidates, int k) {
+        TopKHeap top;
+        if (scoringPool == null || candidates.size() < parallelThreshold) {
+            top = scoreRange(selfPrefs, candidates, 0, candidates.size(), k);
+        } else {
+            int leafSize = Math.max(parallelThreshold / scoringPool.getParallelism(), 256);
+            top = scoringPool.invoke(new ScoringTask(selfPrefs, candidates, 0, candidates.size(), k, leafSize));
+        }
+        top.sortDescending();
+        return top;
+    }
+
+    private static TopKHeap scoreRange(PreferenceVector selfPrefs, List<IndexedUser> candidates,
+                                       int from, int to, int k) {
+        TopKHeap top = new TopKHeap(k);
+        for (int i = from; i < to; i++) {
+            IndexedUser candidate = candidates.get(i);
+            top.offer(candidate.getId(), CompatibilityScorer.score(selfPrefs, candidate.getVector()));
+        }
+        return top;
+    }
+
+    /**
+     * Fork-join task scoring a slice of the candidate list
+     */
+    private static class ScoringTask extends RecursiveTask<TopKHeap> {
+        private final PreferenceVector selfPrefs;
+        private final List<IndexedUser> candidates;
+        private final int from;
+        private final int to;
+        private final int k;
+        private final int leafSize;
+
+        ScoringTask(PreferenceVector selfPrefs, List<IndexedUser> candidates, int from, int to,
+                    int k, int leafSize) {
+            this.selfPrefs = selfPrefs;
+            this.candidates = candidates;
+            this.from = from;
+            this.to = to;
+            this.k = k;
+            this.leafSize = leafSize;
+        }
+
+        @Override
+        protected TopKHeap compute() {
+            if (to - from <= leafSize) {
+                return scoreRange(selfPrefs, candidates, from, to, k);
+            }
+            int mid = (from + to) >>> 1;
+            ScoringTask left = new ScoringTask(selfPrefs, candidates, from, mid, k, leafSize);
+            ScoringTask right = new ScoringTask(selfPrefs, candidates, mid, to, k, leafSize);
+            left.fork();
+            TopKHeap merged = right.compute();
+            merged.addAll(left.join());
+            return merged;
+        }
+    }
+}
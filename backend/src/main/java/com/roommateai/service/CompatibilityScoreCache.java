@@ -0,0 +1,195 @@
+package com.roommateai.service;
+
+import com.roommateai.model.CompatibilityScore;
+import com.roommateai.repository.CompatibilityScoreRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Compatibility Score Cache
+ * Bounded LRU cache of pair scores keyed by the unordered (userA, userB) pair.
+ * Entries are tagged with both users' preference versions and the scoring model's fingerprint,
+ * so a preference change invalidates every pair involving that user without having to find them.
+ * Optionally writes scores through to the compatibility_scores table.
+ */
+@Component
+public class CompatibilityScoreCache {
+
+    private static final int SEGMENTS = 16;
+
+    @Autowired
+    private CompatibilityScoreRepository compatibilityScoreRepository;
+
+    @Value("${matching.score-cache.max-entries:200000}")
+    private int maxEntries;
+
+    @Value("${matching.score-cache.write-through:false}")
+    private boolean writeThrough;
+
+    // Striped so concurrent requests do not serialise on a single LRU lock
+    private final Segment[] segments = new Segment[SEGMENTS];
+    private ExecutorService writer;
+
+    @PostConstruct
+    public void init() {
+        int perSegment = Math.max(1, maxEntries / SEGMENTS);
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment(perSegment);
+        }
+        if (writeThrough) {
+            writer = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "score-cache-writer");
+                thread.setDaemon(true);
+                return thread;
+            });
+            warmFromDatabase();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (writer != null) {
+            writer.shutdown();
+        }
+    }
+
+    /**
+     * Get the cached score for a pair, computing (and caching) it when missing or stale
+     */
+    public double score(long userId, PreferenceVector prefs, long otherId, PreferenceVector otherPrefs) {
+        ScoringModel model = CompatibilityScorer.currentModel();
+        boolean userIsLow = userId <= otherId;
+        long lowId = userIsLow ? userId : otherId;
+        long highId = userIsLow ? otherId : userId;
+        int lowVersion = (userIsLow ? prefs : otherPrefs).getVersion();
+        int highVersion = (userIsLow ? otherPrefs : prefs).getVersion();
+        int fingerprint = model.getFingerprint();
+
+        PairKey key = new PairKey(lowId, highId);
+        Segment segment = segmentFor(key);
+        CachedScore cached;
+        synchronized (segment) {
+            cached = segment.get(key);
+        }
+        if (cached != null && cached.lowVersion == lowVersion && cached.highVersion == highVersion
+                && cached.modelFingerprint == fingerprint) {
+            return cached.score;
+        }
+
+        double score = CompatibilityScorer.score(model, prefs, otherPrefs);
+        synchronized (segment) {
+            segment.put(key, new CachedScore(lowVersion, highVersion, fingerprint, score));
+        }
+        if (writer != null) {
+            writer.execute(() -> compatibilityScoreRepository.upsert(
+                    lowId, highId, lowVersion, highVersion, fingerprint, BigDecimal.valueOf(score)));
+        }
+        return score;
+    }
+
+    /**
+     * Drop persisted scores for a user whose preferences changed.
+     * In-memory entries go stale on their own through the version tags.
+     */
+    public void invalidateUser(Long userId) {
+        if (writer != null) {
+            writer.execute(() -> compatibilityScoreRepository.deleteByUserId(userId));
+        }
+    }
+
+    /**
+     * Drop every cached score (e.g. after the scoring formula changed)
+     */
+    public void clear() {
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+    }
+
+    private void warmFromDatabase() {
+        // Scores persisted under another model would only be misses
+        int fingerprint = CompatibilityScorer.currentModel().getFingerprint();
+        for (CompatibilityScore row : compatibilityScoreRepository.findByModelFingerprintOrderByUpdatedAtDesc(
+                fingerprint, PageRequest.of(0, maxEntries))) {
+            PairKey key = new PairKey(row.getUserLowId(), row.getUserHighId());
+            Segment segment = segmentFor(key);
+            synchronized (segment) {
+                segment.putIfAbsent(key, new CachedScore(
+                        row.getLowVersion(), row.getHighVersion(), fingerprint, row.getScore().doubleValue()));
+            }
+        }
+    }
+
+    private Segment segmentFor(PairKey key) {
+        return segments[(key.hashCode() & 0x7fffffff) % SEGMENTS];
+    }
+
+    /**
+     * Access-ordered LinkedHashMap evicting the least recently used entry
+     */
+    private static class Segment extends LinkedHashMap<PairKey, CachedScore> {
+        private final int capacity;
+
+        Segment(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<PairKey, CachedScore> eldest) {
+            return size() > capacity;
+        }
+    }
+
+    /**
+     * Unordered user pair, stored as (lower id, higher id)
+     */
+    private static final class PairKey {
+        private final long lowId;
+        private final long highId;
+
+        PairKey(long lowId, long highId) {
+            this.lowId = lowId;
+            this.highId = highId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof PairKey)) return false;
+            PairKey other = (PairKey) o;
+            return lowId == other.lowId && highId == other.highId;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(lowId * 31 + highId);
+        }
+    }
+
+    private static final class CachedScore {
+        private final int lowVersion;
+        private final int highVersion;
+        private final int modelFingerprint;
+        private final double score;
+
+        CachedScore(int lowVersion, int highVersion, int modelFingerprint, double score) {
+            this.lowVersion = lowVersion;
+            this.highVersion = highVersion;
+            this.modelFingerprint = modelFingerprint;
+            this.score = score;
+        }
+    }
+}
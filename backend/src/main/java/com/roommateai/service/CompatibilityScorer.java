@@ -0,0 +1,123 @@
+package com.roommateai.service;
+
+/**
+ * Compatibility Scorer
+ * Weighted compatibility formula evaluated over precomputed preference vectors.
+ * Weights and categorical lookup tables come from the installed ScoringModel.
+ */
+public final class CompatibilityScorer {
+
+    private static volatile ScoringModel model = ScoringModel.DEFAULT;
+
+    private CompatibilityScorer() {}
+
+    /**
+     * Get the model scores are currently computed with
+     */
+    public static ScoringModel currentModel() {
+        return model;
+    }
+
+    /**
+     * Swap in a newly compiled model; later calls score with it
+     */
+    public static void install(ScoringModel newModel) {
+        model = newModel;
+    }
+
+    /**
+     * Calculate compatibility score between two preference vectors (0-100, two decimals)
+     * Uses weighted algorithm: w1*Budget + w2*Lifestyle + w3*Sleep + w4*Personality
+     * (0.3, 0.2, 0.2, 0.3 unless configured otherwise)
+     */
+    public static double score(PreferenceVector prefs1, PreferenceVector prefs2) {
+        return score(model, prefs1, prefs2);
+    }
+
+    /**
+     * Calculate compatibility score with a specific model
+     */
+    public static double score(ScoringModel m, PreferenceVector prefs1, PreferenceVector prefs2) {
+        double totalScore = (m.getBudgetWeight() * budgetScore(m, prefs1, prefs2)) +
+                            (m.getLifestyleWeight() * lifestyleScore(m, prefs1, prefs2)) +
+                            (m.getSleepWeight() * sleepScore(m, prefs1, prefs2)) +
+                            (m.getPersonalityWeight() * personalityScore(m, prefs1, prefs2));
+
+        return Math.round(totalScore * 100.0) / 100.0;
+    }
+
+    /**
+     * Calculate budget compatibility (0-100)
+     */
+    public static double budgetScore(PreferenceVector prefs1, PreferenceVector prefs2) {
+        return budgetScore(model, prefs1, prefs2);
+    }
+
+    private static double budgetScore(ScoringModel m, PreferenceVector prefs1, PreferenceVector prefs2) {
+        if (!prefs1.hasBudget() || !prefs2.hasBudget()) {
+            return m.getNeutralScore(); // Default score
+        }
+
+        int budget1 = prefs1.getBudget();
+        int budget2 = prefs2.getBudget();
+        double diff = Math.abs(budget1 - budget2);
+        double avgBudget = (budget1 + budget2) / 2.0;
+        double percentageDiff = (diff / avgBudget) * 100;
+
+        // Score decreases as budget difference increases
+        return Math.max(0, 100 - percentageDiff);
+    }
+
+    /**
+     * Calculate lifestyle compatibility (0-100)
+     */
+    public static double lifestyleScore(PreferenceVector prefs1, PreferenceVector prefs2) {
+        return lifestyleScore(model, prefs1, prefs2);
+    }
+
+    private static double lifestyleScore(ScoringModel m, PreferenceVector prefs1, PreferenceVector prefs2) {
+        if (!prefs1.isLifestyleValid() || !prefs2.isLifestyleValid()) {
+            return m.getNeutralScore();
+        }
+
+        // Base score plus cleanliness and smoking bonuses from the compiled tables
+        double score = m.getLifestyleBase()
+                + m.cleanlinessBonus(prefs1.getCleanliness(), prefs2.getCleanliness())
+                + m.smokingBonus(prefs1.getSmoking(), prefs2.getSmoking());
+
+        return Math.min(100.0, score);
+    }
+
+    /**
+     * Calculate sleep schedule compatibility (0-100)
+     */
+    public static double sleepScore(PreferenceVector prefs1, PreferenceVector prefs2) {
+        return sleepScore(model, prefs1, prefs2);
+    }
+
+    private static double sleepScore(ScoringModel m, PreferenceVector prefs1, PreferenceVector prefs2) {
+        return m.sleepScore(prefs1.getSleep(), prefs2.getSleep());
+    }
+
+    /**
+     * Calculate personality compatibility (0-100) as Jaccard similarity of interests
+     */
+    public static double personalityScore(PreferenceVector prefs1, PreferenceVector prefs2) {
+        return personalityScore(model, prefs1, prefs2);
+    }
+
+    private static double personalityScore(ScoringModel m, PreferenceVector prefs1, PreferenceVector prefs2) {
+        int count1 = prefs1.getInterestCount();
+        int count2 = prefs2.getInterestCount();
+
+        if (count1 == 0 || count2 == 0) {
+            return m.getNeutralScore();
+        }
+
+        int intersection = prefs1.sharedInterests(prefs2);
+        int union = count1 + count2 - intersection;
+
+        double jaccardSimilarity = (double) intersection / union;
+        return jaccardSimilarity * 100.0;
+    }
+}
@@ -4,17 +4,19 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.roommateai.dto.AiSearchRequest;
 import com.roommateai.dto.RentalResponse;
+import com.roommateai.model.Amenity;
 import com.roommateai.model.Rental;
 import com.roommateai.repository.RentalRepository;
+import com.roommateai.repository.RentalSpecifications;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 
 import java.math.BigDecimal;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
@@ -28,6 +30,12 @@ public class GeminiService {
     @Autowired
     private RentalRepository rentalRepository;
 
+    @Autowired
+    private RentalService rentalService;
+
+    @Autowired
+    private RentalMapper rentalMapper;
+
     @Value("${gemini.api-key}")
     private String apiKey;
 
@@ -92,12 +100,13 @@ public class GeminiService {
             Guidelines:
             - If college is mentioned, prioritize rentals near that college
             - Convert price mentions to numbers (e.g., "10k" = 10000)
-            - Extract amenities like "AC", "WiFi", "Meals", "Gym", "Parking"
+            - Extract amenities using these names where possible: %s
             - Distance should be in kilometers
             - Property types: HOSTEL, PG, APARTMENT, HOUSE
             - Room types: SINGLE, SHARED, DOUBLE, TRIPLE
             - Return null for fields not mentioned
-            """, searchRequest.getQuery(), searchRequest.getUserCollege());
+            """, searchRequest.getQuery(), searchRequest.getUserCollege(),
+                String.join(", ", Amenity.labels()));
     }
 
     /**
@@ -174,143 +183,60 @@ public class GeminiService {
 
     /**
      * Search rentals using AI-extracted filters
+     * The filters become one database query, so only matching rows (with their owners) are loaded
      */
     private List<RentalResponse> searchRentalsWithFilters(Map<String, Object> filters) {
-        List<Rental> rentals = new ArrayList<>();
-        
-        // Get all available rentals first
-        List<Rental> allRentals = rentalRepository.findByIsAvailable(true);
-        
-        // Apply filters
-        for (Rental rental : allRentals) {
-            if (matchesFilters(rental, filters)) {
-                rentals.add(rental);
-            }
-        }
-        
-        // Convert to response DTOs
-        return rentals.stream()
-                .map(this::convertToResponse)
-                .toList();
+        return rentalMapper.toResponses(rentalRepository.findAll(buildFilterSpecification(filters)));
     }
 
     /**
-     * Check if rental matches AI-extracted filters
+     * Translate AI-extracted filters into query predicates
      */
-    private boolean matchesFilters(Rental rental, Map<String, Object> filters) {
-        // College filter
+    private Specification<Rental> buildFilterSpecification(Map<String, Object> filters) {
+        Specification<Rental> spec = Specification.where(RentalSpecifications.isAvailable())
+                .and(RentalSpecifications.fetchOwner());
+
         if (filters.get("college") != null) {
-            String college = filters.get("college").toString().toLowerCase();
-            if (!rental.getOwner().getCollege().toLowerCase().contains(college)) {
-                return false;
-            }
+            spec = spec.and(RentalSpecifications.ownerCollegeContains(filters.get("college").toString()));
         }
-        
-        // Price filters
         if (filters.get("maxPrice") != null) {
-            BigDecimal maxPrice = new BigDecimal(filters.get("maxPrice").toString());
-            if (rental.getRent().compareTo(maxPrice) > 0) {
-                return false;
-            }
+            spec = spec.and(RentalSpecifications.rentAtMost(new BigDecimal(filters.get("maxPrice").toString())));
         }
-        
         if (filters.get("minPrice") != null) {
-            BigDecimal minPrice = new BigDecimal(filters.get("minPrice").toString());
-            if (rental.getRent().compareTo(minPrice) < 0) {
-                return false;
-            }
+            spec = spec.and(RentalSpecifications.rentAtLeast(new BigDecimal(filters.get("minPrice").toString())));
         }
-        
-        // Property type filter
         if (filters.get("propertyType") != null) {
-            String propertyType = filters.get("propertyType").toString();
-            if (!rental.getPropertyType().name().equals(propertyType)) {
-                return false;
-            }
+            spec = spec.and(RentalSpecifications.hasPropertyType(filters.get("propertyType").toString()));
         }
-        
-        // Room type filter
         if (filters.get("roomType") != null) {
-            String roomType = filters.get("roomType").toString();
-            if (!rental.getRoomType().name().equals(roomType)) {
-                return false;
-            }
+            spec = spec.and(RentalSpecifications.hasRoomType(filters.get("roomType").toString()));
         }
-        
-        // City filter
         if (filters.get("city") != null) {
-            String city = filters.get("city").toString().toLowerCase();
-            if (!rental.getCity().toLowerCase().contains(city)) {
-                return false;
-            }
+            spec = spec.and(RentalSpecifications.cityStartsWith(filters.get("city").toString()));
         }
-        
-        // State filter
         if (filters.get("state") != null) {
-            String state = filters.get("state").toString().toLowerCase();
-            if (!rental.getState().toLowerCase().contains(state)) {
-                return false;
-            }
+            spec = spec.and(RentalSpecifications.stateStartsWith(filters.get("state").toString()));
         }
-        
-        // Amenities filter
         if (filters.get("amenities") != null) {
             @SuppressWarnings("unchecked")
             List<String> requiredAmenities = (List<String>) filters.get("amenities");
-            if (rental.getAmenitiesJson() != null) {
-                String amenities = rental.getAmenitiesJson().toLowerCase();
-                for (String amenity : requiredAmenities) {
-                    if (!amenities.contains(amenity.toLowerCase())) {
-                        return false;
-                    }
+            long mask = Amenity.maskOf(requiredAmenities);
+            if (mask != 0) {
+                spec = spec.and(RentalSpecifications.hasAllAmenities(mask));
+            }
+            for (String amenity : requiredAmenities) {
+                if (Amenity.fromLabel(amenity) == null) {
+                    spec = spec.and(RentalSpecifications.listsAmenity(amenity));
                 }
-            } else {
-                return false;
             }
         }
-        
-        return true;
+        return spec;
     }
 
     /**
      * Fallback text search when AI fails
      */
     private List<RentalResponse> fallbackTextSearch(String query) {
-        List<Rental> rentals = rentalRepository.searchByTitleOrDescription(query);
-        return rentals.stream()
-                .map(this::convertToResponse)
-                .toList();
-    }
-
-    /**
-     * Convert Rental entity to RentalResponse DTO
-     */
-    private RentalResponse convertToResponse(Rental rental) {
-        RentalResponse response = new RentalResponse();
-        response.setId(rental.getId());
-        response.setOwnerId(rental.getOwner().getId());
-        response.setOwnerName(rental.getOwner().getName());
-        response.setTitle(rental.getTitle());
-        response.setDescription(rental.getDescription());
-        response.setRent(rental.getRent());
-        response.setDeposit(rental.getDeposit());
-        response.setAddress(rental.getAddress());
-        response.setCity(rental.getCity());
-        response.setState(rental.getState());
-        response.setPincode(rental.getPincode());
-        response.setLatitude(rental.getLatitude());
-        response.setLongitude(rental.getLongitude());
-        response.setAmenitiesJson(rental.getAmenitiesJson());
-        response.setImagesJson(rental.getImagesJson());
-        response.setPropertyType(rental.getPropertyType().name());
-        response.setRoomType(rental.getRoomType().name());
-        response.setAvailableFrom(rental.getAvailableFrom());
-        response.setAvailableUntil(rental.getAvailableUntil());
-        response.setIsAvailable(rental.getIsAvailable());
-        response.setIsVerified(rental.getIsVerified());
-        response.setCreatedAt(rental.getCreatedAt());
-        response.setUpdatedAt(rental.getUpdatedAt());
-        
-        return response;
+        return rentalService.searchRentalsByText(query);
     }
 }
@@ -0,0 +1,74 @@
+package com.roommateai.service;
+
+/**
+ * Geo Distance
+ * Great-circle distance and bounding boxes for radius searches
+ */
+public final class GeoDistance {
+
+    public static final double EARTH_RADIUS_KM = 6371.0;
+
+    private static final double KM_PER_DEGREE_LATITUDE = Math.PI * EARTH_RADIUS_KM / 180.0;
+
+    private GeoDistance() {}
+
+    /**
+     * Haversine distance in kilometres
+     */
+    public static double distanceKm(double lat1, double lng1, double lat2, double lng2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2) +
+                   Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) *
+                   Math.sin(dLng / 2) * Math.sin(dLng / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+
+    /**
+     * Smallest latitude/longitude box containing every point within {@code radiusKm} of the centre.
+     * Longitudes may run past +/-180 when the circle crosses the antimeridian; see {@link BoundingBox#crossesAntimeridian()}.
+     */
+    public static BoundingBox boundingBox(double latitude, double longitude, double radiusKm) {
+        double dLat = radiusKm / KM_PER_DEGREE_LATITUDE;
+        double minLat = Math.max(-90.0, latitude - dLat);
+        double maxLat = Math.min(90.0, latitude + dLat);
+
+        // A circle reaching a pole covers every longitude
+        if (minLat <= -90.0 || maxLat >= 90.0) {
+            return new BoundingBox(minLat, maxLat, -180.0, 180.0);
+        }
+        double dLng = Math.toDegrees(Math.asin(Math.min(1.0,
+                Math.sin(radiusKm / EARTH_RADIUS_KM) / Math.cos(Math.toRadians(latitude)))));
+        if (dLng >= 180.0) {
+            return new BoundingBox(minLat, maxLat, -180.0, 180.0);
+        }
+        return new BoundingBox(minLat, maxLat, longitude - dLng, longitude + dLng);
+    }
+
+    /**
+     * Latitude/longitude rectangle in degrees
+     */
+    public static final class BoundingBox {
+        private final double minLatitude;
+        private final double maxLatitude;
+        private final double minLongitude;
+        private final double maxLongitude;
+
+        public BoundingBox(double minLatitude, double maxLatitude, double minLongitude, double maxLongitude) {
+            this.minLatitude = minLatitude;
+            this.maxLatitude = maxLatitude;
+            this.minLongitude = minLongitude;
+            this.maxLongitude = maxLongitude;
+        }
+
+        public boolean crossesAntimeridian() {
+            return minLongitude < -180.0 || maxLongitude > 180.0;
+        }
+
+        // Getters
+        public double getMinLatitude() { return minLatitude; }
+        public double getMaxLatitude() { return maxLatitude; }
+        public double getMinLongitude() { return minLongitude; }
+        public double getMaxLongitude() { return maxLongitude; }
+    }
+}
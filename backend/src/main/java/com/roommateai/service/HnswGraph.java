@@ -0,0 +1,467 @@
+package com.roommateai.service;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongPredicate;
+
+/**
+ * HNSW Graph
+ * Hierarchical navigable small-world graph over preference embeddings (Malkov & Yashunin).
+ * Each node is a user id plus the preference version its embedding was built from.
+ * Updates tombstone the old node and insert a new one; tombstones keep routing searches
+ * until {@link #compact()} rebuilds the graph from the live nodes.
+ * Writes take an exclusive lock; searches never wait for one and report "busy" instead.
+ */
+public class HnswGraph {
+
+    private static final int DIM = PreferenceEmbedding.DIMENSIONS;
+    private static final Comparator<Candidate> BY_DISTANCE = Comparator.comparingDouble((Candidate c) -> c.distance);
+
+    private final int m;
+    private final int maxM0;
+    private final int efConstruction;
+    private final double levelMultiplier;
+    private final Random random = new Random(42);
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private int count;
+    private long[] ids = new long[16];
+    private int[] versions = new int[16];
+    private float[] vectors = new float[16 * DIM];
+    // node -> level -> [size, neighbour...]
+    private int[][][] links = new int[16][][];
+    private final BitSet deleted = new BitSet();
+    private int deletedCount;
+    private final Map<Long, Integer> nodeOf = new HashMap<>();
+    private int entryPoint = -1;
+    private int maxLevel = -1;
+
+    public HnswGraph(int m, int efConstruction) {
+        this.m = m;
+        this.maxM0 = 2 * m;
+        this.efConstruction = efConstruction;
+        this.levelMultiplier = 1.0 / Math.log(m);
+    }
+
+    /**
+     * Insert or update a user's embedding; a no-op if the same version is already live
+     */
+    public void insert(long id, int version, float[] vector) {
+        lock.writeLock().lock();
+        try {
+            Integer existing = nodeOf.get(id);
+            if (existing != null) {
+                if (versions[existing] == version) {
+                    return;
+                }
+                markDeleted(existing);
+            }
+            addNode(id, version, vector, 0, randomLevel());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove a user from the graph
+     */
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            Integer existing = nodeOf.get(id);
+            if (existing != null) {
+                markDeleted(existing);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Find up to {@code k} accepted ids nearest to the query, closest first.
+     * Returns null when the graph is being written to, so callers can fall back instead of waiting.
+     */
+    public long[] search(float[] query, int k, int ef, LongPredicate accept) {
+        if (!lock.readLock().tryLock()) {
+            return null;
+        }
+        try {
+            if (entryPoint < 0) {
+                return new long[0];
+            }
+            int current = entryPoint;
+            for (int level = maxLevel; level > 0; level--) {
+                current = greedyClosest(query, 0, current, level);
+            }
+            List<Candidate> nearest = searchLayer(query, 0, current, Math.max(ef, k), 0);
+
+            long[] result = new long[Math.min(k, nearest.size())];
+            int found = 0;
+            for (Candidate candidate : nearest) {
+                if (found == result.length) {
+                    break;
+                }
+                if (!deleted.get(candidate.node) && accept.test(ids[candidate.node])) {
+                    result[found++] = ids[candidate.node];
+                }
+            }
+            return found == result.length ? result : Arrays.copyOf(result, found);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Preference versions of the live nodes by user id
+     */
+    public Map<Long, Integer> liveVersions() {
+        lock.readLock().lock();
+        try {
+            Map<Long, Integer> live = new HashMap<>(nodeOf.size() * 2);
+            for (Map.Entry<Long, Integer> entry : nodeOf.entrySet()) {
+                live.put(entry.getKey(), versions[entry.getValue()]);
+            }
+            return live;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return count - deletedCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Share of nodes that are tombstones
+     */
+    public double deletedRatio() {
+        lock.readLock().lock();
+        try {
+            return count == 0 ? 0.0 : (double) deletedCount / count;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Rebuild the graph from its live nodes, dropping tombstones
+     */
+    public void compact() {
+        lock.writeLock().lock();
+        try {
+            long[] oldIds = ids;
+            int[] oldVersions = versions;
+            float[] oldVectors = vectors;
+            int oldCount = count;
+            BitSet oldDeleted = (BitSet) deleted.clone();
+
+            reset(Math.max(16, oldCount - deletedCount));
+            for (int node = 0; node < oldCount; node++) {
+                if (!oldDeleted.get(node)) {
+                    addNode(oldIds[node], oldVersions[node], oldVectors, node * DIM, randomLevel());
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // ---- Persistence ----
+
+    /**
+     * Snapshot of the graph in its on-disk layout (read back with {@link #readFrom})
+     */
+    public ByteBuffer serialize() {
+        lock.readLock().lock();
+        try {
+            long size = 4 * 3;
+            for (int node = 0; node < count; node++) {
+                size += 8 + 4 + 1 + 1 + 4L * DIM;
+                for (int[] level : links[node]) {
+                    size += 4L * (1 + level[0]);
+                }
+            }
+
+            ByteBuffer out = ByteBuffer.allocate(Math.toIntExact(size));
+            out.putInt(count).putInt(entryPoint).putInt(maxLevel);
+            for (int node = 0; node < count; node++) {
+                out.putLong(ids[node]).putInt(versions[node]);
+                out.put((byte) (deleted.get(node) ? 1 : 0)).put((byte) (links[node].length - 1));
+                for (int i = 0; i < DIM; i++) {
+                    out.putFloat(vectors[node * DIM + i]);
+                }
+                for (int[] level : links[node]) {
+                    for (int i = 0; i <= level[0]; i++) {
+                        out.putInt(level[i]);
+                    }
+                }
+            }
+            return out.flip();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public static HnswGraph readFrom(ByteBuffer in, int m, int efConstruction) {
+        HnswGraph graph = new HnswGraph(m, efConstruction);
+        int nodes = in.getInt();
+        graph.reset(Math.max(16, nodes));
+        graph.entryPoint = in.getInt();
+        graph.maxLevel = in.getInt();
+        for (int node = 0; node < nodes; node++) {
+            long id = in.getLong();
+            int version = in.getInt();
+            boolean isDeleted = in.get() == 1;
+            int level = in.get();
+
+            graph.ids[node] = id;
+            graph.versions[node] = version;
+            for (int i = 0; i < DIM; i++) {
+                graph.vectors[node * DIM + i] = in.getFloat();
+            }
+            graph.links[node] = new int[level + 1][];
+            for (int l = 0; l <= level; l++) {
+                int[] neighbours = new int[1 + graph.maxLinks(l)];
+                neighbours[0] = in.getInt();
+                for (int i = 1; i <= neighbours[0]; i++) {
+                    neighbours[i] = in.getInt();
+                }
+                graph.links[node][l] = neighbours;
+            }
+            if (isDeleted) {
+                graph.deleted.set(node);
+                graph.deletedCount++;
+            } else {
+                graph.nodeOf.put(id, node);
+            }
+        }
+        graph.count = nodes;
+        return graph;
+    }
+
+    // ---- Construction ----
+
+    private void reset(int capacity) {
+        count = 0;
+        ids = new long[capacity];
+        versions = new int[capacity];
+        vectors = new float[capacity * DIM];
+        links = new int[capacity][][];
+        deleted.clear();
+        deletedCount = 0;
+        nodeOf.clear();
+        entryPoint = -1;
+        maxLevel = -1;
+    }
+
+    private void addNode(long id, int version, float[] source, int sourceOffset, int level) {
+        int node = count;
+        ensureCapacity(node + 1);
+        ids[node] = id;
+        versions[node] = version;
+        System.arraycopy(source, sourceOffset, vectors, node * DIM, DIM);
+        links[node] = new int[level + 1][];
+        for (int l = 0; l <= level; l++) {
+            links[node][l] = new int[1 + maxLinks(l)];
+        }
+        count++;
+        nodeOf.put(id, node);
+
+        if (entryPoint < 0) {
+            entryPoint = node;
+            maxLevel = level;
+            return;
+        }
+
+        int current = entryPoint;
+        for (int l = maxLevel; l > level; l--) {
+            current = greedyClosest(vectors, node * DIM, current, l);
+        }
+        for (int l = Math.min(level, maxLevel); l >= 0; l--) {
+            List<Candidate> nearest = searchLayer(vectors, node * DIM, current, efConstruction, l);
+            int[] selected = selectNeighbours(nearest, maxLinks(l));
+            int[] own = links[node][l];
+            own[0] = selected.length;
+            System.arraycopy(selected, 0, own, 1, selected.length);
+            for (int neighbour : selected) {
+                link(neighbour, node, l);
+            }
+            current = nearest.get(0).node;
+        }
+
+        if (level > maxLevel) {
+            maxLevel = level;
+            entryPoint = node;
+        }
+    }
+
+    private void markDeleted(int node) {
+        deleted.set(node);
+        deletedCount++;
+        nodeOf.remove(ids[node]);
+    }
+
+    /**
+     * Add a back-link, pruning the neighbour's list to its closest nodes when full
+     */
+    private void link(int from, int to, int level) {
+        int[] neighbours = links[from][level];
+        int size = neighbours[0];
+        if (size < neighbours.length - 1) {
+            neighbours[++size] = to;
+            neighbours[0] = size;
+            return;
+        }
+
+        List<Candidate> all = new ArrayList<>(size + 1);
+        for (int i = 1; i <= size; i++) {
+            all.add(new Candidate(neighbours[i], distance(from, neighbours[i])));
+        }
+        all.add(new Candidate(to, distance(from, to)));
+        all.sort(BY_DISTANCE);
+        int[] kept = selectNeighbours(all, neighbours.length - 1);
+        neighbours[0] = kept.length;
+        System.arraycopy(kept, 0, neighbours, 1, kept.length);
+    }
+
+    /**
+     * Neighbour selection heuristic: prefer candidates that are closer to the base node than
+     * to any already selected neighbour, then fill up with the closest remaining ones
+     */
+    private int[] selectNeighbours(List<Candidate> sortedCandidates, int max) {
+        int[] selected = new int[Math.min(max, sortedCandidates.size())];
+        int size = 0;
+        List<Candidate> skipped = new ArrayList<>();
+        for (Candidate candidate : sortedCandidates) {
+            if (size == selected.length) {
+                break;
+            }
+            boolean diverse = true;
+            for (int i = 0; i < size; i++) {
+                if (distance(candidate.node, selected[i]) < candidate.distance) {
+                    diverse = false;
+                    break;
+                }
+            }
+            if (diverse) {
+                selected[size++] = candidate.node;
+            } else {
+                skipped.add(candidate);
+            }
+        }
+        for (int i = 0; i < skipped.size() && size < selected.length; i++) {
+            selected[size++] = skipped.get(i).node;
+        }
+        return selected;
+    }
+
+    // ---- Search ----
+
+    private int greedyClosest(float[] query, int queryOffset, int start, int level) {
+        int current = start;
+        float currentDistance = PreferenceEmbedding.distance(query, queryOffset, vectors, current * DIM);
+        boolean improved = true;
+        while (improved) {
+            improved = false;
+            int[] neighbours = links[current][level];
+            for (int i = 1; i <= neighbours[0]; i++) {
+                float d = PreferenceEmbedding.distance(query, queryOffset, vectors, neighbours[i] * DIM);
+                if (d < currentDistance) {
+                    currentDistance = d;
+                    current = neighbours[i];
+                    improved = true;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Best-first search of one layer; returns up to {@code ef} nodes sorted closest first
+     */
+    private List<Candidate> searchLayer(float[] query, int queryOffset, int start, int ef, int level) {
+        BitSet visited = new BitSet(count);
+        PriorityQueue<Candidate> frontier = new PriorityQueue<>(BY_DISTANCE);
+        PriorityQueue<Candidate> best = new PriorityQueue<>(BY_DISTANCE.reversed());
+
+        Candidate first = new Candidate(start, PreferenceEmbedding.distance(query, queryOffset, vectors, start * DIM));
+        visited.set(start);
+        frontier.add(first);
+        best.add(first);
+
+        while (!frontier.isEmpty()) {
+            Candidate closest = frontier.poll();
+            if (closest.distance > best.peek().distance && best.size() >= ef) {
+                break;
+            }
+            int[] neighbours = links[closest.node][level];
+            for (int i = 1; i <= neighbours[0]; i++) {
+                int neighbour = neighbours[i];
+                if (visited.get(neighbour)) {
+                    continue;
+                }
+                visited.set(neighbour);
+                float d = PreferenceEmbedding.distance(query, queryOffset, vectors, neighbour * DIM);
+                if (best.size() < ef || d < best.peek().distance) {
+                    Candidate candidate = new Candidate(neighbour, d);
+                    frontier.add(candidate);
+                    best.add(candidate);
+                    if (best.size() > ef) {
+                        best.poll();
+                    }
+                }
+            }
+        }
+
+        List<Candidate> result = new ArrayList<>(best);
+        result.sort(BY_DISTANCE);
+        return result;
+    }
+
+    private float distance(int a, int b) {
+        return PreferenceEmbedding.distance(vectors, a * DIM, vectors, b * DIM);
+    }
+
+    private int maxLinks(int level) {
+        return level == 0 ? maxM0 : m;
+    }
+
+    private int randomLevel() {
+        return Math.min(16, (int) (-Math.log(1.0 - random.nextDouble()) * levelMultiplier));
+    }
+
+    private void ensureCapacity(int needed) {
+        if (needed <= ids.length) {
+            return;
+        }
+        int capacity = Math.max(needed, ids.length * 2);
+        ids = Arrays.copyOf(ids, capacity);
+        versions = Arrays.copyOf(versions, capacity);
+        vectors = Arrays.copyOf(vectors, capacity * DIM);
+        links = Arrays.copyOf(links, capacity);
+    }
+
+    private static final class Candidate {
+        private final int node;
+        private final float distance;
+
+        Candidate(int node, float distance) {
+            this.node = node;
+            this.distance = distance;
+        }
+    }
+}
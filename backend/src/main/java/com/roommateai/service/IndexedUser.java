@@ -0,0 +1,26 @@
+package com.roommateai.service;
+
+/**
+ * Indexed User
+ * Entry of the in-memory candidate index: just what is needed to partition and score a user
+ */
+public final class IndexedUser {
+
+    private final long id;
+    private final String college;
+    private final int budgetBand;
+    private final PreferenceVector vector;
+
+    public IndexedUser(long id, String college, int budgetBand, PreferenceVector vector) {
+        this.id = id;
+        this.college = college;
+        this.budgetBand = budgetBand;
+        this.vector = vector;
+    }
+
+    // Getters
+    public long getId() { return id; }
+    public String getCollege() { return college; }
+    public int getBudgetBand() { return budgetBand; }
+    public PreferenceVector getVector() { return vector; }
+}
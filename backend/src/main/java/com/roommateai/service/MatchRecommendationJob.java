@@ -0,0 +1,38 @@
+package com.roommateai.service;
+
+import com.roommateai.model.User;
+import com.roommateai.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Match Recommendation Job
+ * Nightly batch that precomputes top-N roommate recommendations for every active student.
+ * Works one college at a time so only a single college's users are loaded at once.
+ */
+@Component
+public class MatchRecommendationJob {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MatchRecommendationService matchRecommendationService;
+
+    @Scheduled(cron = "${matching.recommendations.cron:0 0 3 * * *}")
+    public void precomputeRecommendations() {
+        for (String college : userRepository.findActiveStudentColleges()) {
+            for (User student : userRepository.findByCollegeAndIsActive(college, true)) {
+                if (student.getRole() != User.UserRole.STUDENT) {
+                    continue;
+                }
+                try {
+                    matchRecommendationService.recomputeForUser(student);
+                } catch (Exception e) {
+                    // Skip this user; live scoring still covers them until the next run
+                }
+            }
+        }
+    }
+}
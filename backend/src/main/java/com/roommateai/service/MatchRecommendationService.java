@@ -0,0 +1,174 @@
+package com.roommateai.service;
+
+import com.roommateai.model.MatchRecommendation;
+import com.roommateai.model.User;
+import com.roommateai.repository.MatchRecommendationRepository;
+import com.roommateai.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Match Recommendation Service
+ * Computes and stores each user's top-N roommate candidates so they can be served with one read
+ */
+@Service
+public class MatchRecommendationService {
+
+    @Autowired
+    private MatchRecommendationRepository matchRecommendationRepository;
+
+    @Autowired
+    private SwipeExclusionIndex swipeExclusionIndex;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PreferenceVectorCache preferenceVectorCache;
+
+    @Autowired
+    private CandidateIndex candidateIndex;
+
+    @Autowired
+    private CandidateRanker candidateRanker;
+
+    private static final int STATS_BATCH_SIZE = 1000;
+
+    /**
+     * Stored lists are ordered by the stored (2-decimal) score, then the higher candidate id,
+     * so the row order and the scores readers see never disagree
+     */
+    private static final Comparator<MatchRecommendation> BEST_FIRST = (a, b) -> {
+        int byScore = b.getScore().compareTo(a.getScore());
+        return byScore != 0 ? byScore : Long.compare(b.getCandidate().getId(), a.getCandidate().getId());
+    };
+
+    @Value("${matching.recommendations.top-n:100}")
+    private int topN;
+
+    /**
+     * Get a user's stored recommendations best-first (candidates already loaded)
+     */
+    public List<MatchRecommendation> getRecommendations(Long userId) {
+        return matchRecommendationRepository.findByUserIdWithCandidate(userId);
+    }
+
+    /**
+     * Recompute and store the top-N candidates for one user
+     */
+    @Transactional
+    public void recomputeForUser(User user) {
+        PreferenceVector prefs = preferenceVectorCache.get(user);
+        LongHashSet excluded = swipeExclusionIndex.excludedFor(user.getId());
+        List<IndexedUser> candidates = candidateIndex.candidatesFor(
+                user.getId(), user.getCollege(), prefs, excluded, topN);
+
+        TopKHeap top = candidateRanker.rank(prefs, candidates, topN);
+        replaceRecommendations(user.getId(), top);
+    }
+
+    /**
+     * Incrementally refresh recommendations after a user was created or updated.
+     * Rescores the user against their candidate partition and patches the stored lists of
+     * the other users in that partition where the user now ranks in their top-N.
+     */
+    @Transactional
+    public void refreshAfterChange(Long userId) {
+        // Scores pointing at this user are stale either way
+        matchRecommendationRepository.deleteByCandidateId(userId);
+
+        User user = userRepository.findById(userId).orElse(null);
+        if (user == null || !Boolean.TRUE.equals(user.getIsActive()) || user.getRole() != User.UserRole.STUDENT) {
+            matchRecommendationRepository.deleteByUserId(userId);
+            return;
+        }
+
+        PreferenceVector prefs = preferenceVectorCache.get(user);
+        LongHashSet excluded = swipeExclusionIndex.excludedFor(userId);
+        List<IndexedUser> candidates = candidateIndex.candidatesFor(
+                userId, user.getCollege(), prefs, excluded, topN);
+
+        replaceRecommendations(userId, candidateRanker.rank(prefs, candidates, topN));
+        patchOtherLists(userId, prefs, candidates);
+    }
+
+    /**
+     * Insert the changed user into the lists of partition members they now qualify for
+     */
+    private void patchOtherLists(Long userId, PreferenceVector prefs, List<IndexedUser> partition) {
+        // The formula is symmetric, so one score per pair serves both directions
+        Map<Long, Double> scores = new HashMap<>();
+        for (IndexedUser other : partition) {
+            scores.put(other.getId(), CompatibilityScorer.score(prefs, other.getVector()));
+        }
+
+        List<Long> otherIds = new ArrayList<>(scores.keySet());
+        for (int from = 0; from < otherIds.size(); from += STATS_BATCH_SIZE) {
+            List<Long> batch = otherIds.subList(from, Math.min(from + STATS_BATCH_SIZE, otherIds.size()));
+            for (Object[] stats : matchRecommendationRepository.findListStats(batch)) {
+                Long otherId = (Long) stats[0];
+                long count = (Long) stats[1];
+                BigDecimal minScore = (BigDecimal) stats[2];
+                BigDecimal score = storedScore(scores.get(otherId));
+                if (count < topN || score.compareTo(minScore) > 0) {
+                    insertIntoList(otherId, userId, score);
+                }
+            }
+        }
+    }
+
+    private void insertIntoList(Long ownerId, Long candidateId, BigDecimal score) {
+        List<MatchRecommendation> rows = matchRecommendationRepository.findByUserId(ownerId);
+        rows.add(new MatchRecommendation(userRepository.getReferenceById(ownerId),
+                userRepository.getReferenceById(candidateId), score, rows.size()));
+        rows.sort(BEST_FIRST);
+
+        if (rows.size() > topN) {
+            MatchRecommendation dropped = rows.remove(rows.size() - 1);
+            if (dropped.getId() != null) {
+                matchRecommendationRepository.delete(dropped);
+            }
+        }
+        for (int i = 0; i < rows.size(); i++) {
+            rows.get(i).setPosition(i);
+        }
+        matchRecommendationRepository.saveAll(rows);
+    }
+
+    /**
+     * Replace a user's stored recommendations with a ranked result
+     */
+    private void replaceRecommendations(Long userId, TopKHeap top) {
+        matchRecommendationRepository.deleteByUserId(userId);
+
+        User user = userRepository.getReferenceById(userId);
+        List<MatchRecommendation> rows = new ArrayList<>(top.size());
+        for (int i = 0; i < top.size(); i++) {
+            User candidate = userRepository.getReferenceById(top.idAt(i));
+            rows.add(new MatchRecommendation(user, candidate, storedScore(top.scoreAt(i)), i));
+        }
+        // Rounding can tie scores the heap told apart; re-rank by what is stored
+        rows.sort(BEST_FIRST);
+        for (int i = 0; i < rows.size(); i++) {
+            rows.get(i).setPosition(i);
+        }
+        matchRecommendationRepository.saveAll(rows);
+    }
+
+    /**
+     * A score as the score column holds it (DECIMAL(5,2))
+     */
+    private static BigDecimal storedScore(double score) {
+        return BigDecimal.valueOf(score).setScale(2, RoundingMode.HALF_UP);
+    }
+}
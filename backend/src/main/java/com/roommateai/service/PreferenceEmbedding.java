@@ -0,0 +1,87 @@
+package com.roommateai.service;
+
+/**
+ * Preference Embedding
+ * Maps a PreferenceVector to a fixed-dimension float vector whose squared L2 distance roughly
+ * tracks (the inverse of) the compatibility score, for approximate nearest-neighbour retrieval.
+ * Only used to shortlist candidates; final ranking always uses the exact formula.
+ */
+public final class PreferenceEmbedding {
+
+    private static final int BUDGET = 0;
+    private static final int CLEANLINESS = 1;
+    private static final int SMOKING = 4;
+    private static final int SLEEP = 7;
+    private static final int INTERESTS = 10;
+    private static final int INTEREST_BUCKETS = 32;
+
+    public static final int DIMENSIONS = INTERESTS + INTEREST_BUCKETS;
+
+    // Scaled by the square roots of the default weights so each dimension's share of the distance
+    // follows its share of the score; embeddings are persisted, so they do not follow weight reloads
+    private static final float BUDGET_SCALE = (float) (Math.sqrt(0.3) * 1.5);
+    private static final float LIFESTYLE_SCALE = (float) Math.sqrt(0.2);
+    private static final float SLEEP_SCALE = (float) Math.sqrt(0.2);
+    private static final float PERSONALITY_SCALE = (float) Math.sqrt(0.3);
+
+    // Users without a budget score neutral against everyone, so they sit near a typical budget
+    private static final double NEUTRAL_LOG_BUDGET = Math.log(1000);
+
+    // One row per code (1..3); compatible pairs (high/medium, normal/early, normal/late) share weight
+    private static final float[][] CLEANLINESS_CODES = {{1f, 0.5f, 0f}, {0.5f, 1f, 0f}, {0f, 0f, 1f}};
+    private static final float[][] SMOKING_CODES = {{1f, 0f, 0f}, {0f, 1f, 0f}, {0f, 0f, 1f}};
+    private static final float[][] SLEEP_CODES = {{1f, 0.5f, 0f}, {0.5f, 1f, 0.5f}, {0f, 0.5f, 1f}};
+
+    private PreferenceEmbedding() {}
+
+    /**
+     * Embed a preference vector into a new float array of {@link #DIMENSIONS}
+     */
+    public static float[] embed(PreferenceVector prefs) {
+        float[] embedding = new float[DIMENSIONS];
+
+        double logBudget = prefs.hasBudget() && prefs.getBudget() > 0 ? Math.log(prefs.getBudget()) : NEUTRAL_LOG_BUDGET;
+        embedding[BUDGET] = (float) (logBudget * BUDGET_SCALE);
+
+        if (prefs.isLifestyleValid()) {
+            oneHot(embedding, CLEANLINESS, CLEANLINESS_CODES, prefs.getCleanliness(), LIFESTYLE_SCALE);
+            oneHot(embedding, SMOKING, SMOKING_CODES, prefs.getSmoking(), LIFESTYLE_SCALE);
+        }
+        oneHot(embedding, SLEEP, SLEEP_CODES, prefs.getSleep(), SLEEP_SCALE);
+
+        // Interests normalised to unit length, so overlap (not count) drives the distance
+        int sketch = prefs.getInterestSketch();
+        if (sketch != 0) {
+            float value = PERSONALITY_SCALE / (float) Math.sqrt(Integer.bitCount(sketch));
+            for (int bucket = 0; bucket < INTEREST_BUCKETS; bucket++) {
+                if ((sketch & (1 << bucket)) != 0) {
+                    embedding[INTERESTS + bucket] = value;
+                }
+            }
+        }
+        return embedding;
+    }
+
+    /**
+     * Squared Euclidean distance between two embeddings stored in flat arrays
+     */
+    public static float distance(float[] a, int aOffset, float[] b, int bOffset) {
+        float sum = 0f;
+        for (int i = 0; i < DIMENSIONS; i++) {
+            float d = a[aOffset + i] - b[bOffset + i];
+            sum += d * d;
+        }
+        return sum;
+    }
+
+    private static void oneHot(float[] embedding, int offset, float[][] rows, int code, float scale) {
+        // Missing and non-seeded values embed as zeros
+        if (code < 1 || code > rows.length) {
+            return;
+        }
+        float[] row = rows[code - 1];
+        for (int i = 0; i < row.length; i++) {
+            embedding[offset + i] = row[i] * scale;
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.roommateai.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Preference Vector
+ * Compact, primitive-typed form of a user's preferencesJson used for compatibility scoring.
+ * Built once per preferences write, so scoring a pair needs no JSON parsing or allocation.
+ */
+public final class PreferenceVector {
+
+    /** Code used when a categorical preference is not set */
+    public static final int MISSING = 0;
+
+    // Well-known values get fixed codes; anything else is interned after them
+    public static final int CLEANLINESS_HIGH = 1;
+    public static final int CLEANLINESS_MEDIUM = 2;
+    public static final int CLEANLINESS_LOW = 3;
+
+    public static final int SLEEP_EARLY = 1;
+    public static final int SLEEP_NORMAL = 2;
+    public static final int SLEEP_LATE = 3;
+
+    static final Vocabulary CLEANLINESS = new Vocabulary(1, "high", "medium", "low");
+    static final Vocabulary SMOKING = new Vocabulary(1, "no", "yes", "occasionally");
+    static final Vocabulary SLEEP = new Vocabulary(1, "early", "normal", "late");
+    static final Vocabulary INTERESTS = new Vocabulary(0);
+
+    private static final long[] NO_BITS = new long[0];
+
+    /** Vector for users with no (or unparseable) preferences */
+    public static final PreferenceVector EMPTY =
+            new PreferenceVector(null, 0, false, 0, true, MISSING, MISSING, MISSING, NO_BITS, 0, 0);
+
+    private final String sourceJson;
+    private final int version;
+    private final boolean hasBudget;
+    private final int budget;
+    private final boolean lifestyleValid;
+    private final int cleanliness;
+    private final int smoking;
+    private final int sleep;
+    private final long[] interestBits;
+    private final int interestCount;
+    private final int interestSketch;
+
+    private PreferenceVector(String sourceJson, int version, boolean hasBudget, int budget, boolean lifestyleValid,
+                             int cleanliness, int smoking, int sleep, long[] interestBits, int interestCount,
+                             int interestSketch) {
+        this.sourceJson = sourceJson;
+        this.version = version;
+        this.hasBudget = hasBudget;
+        this.budget = budget;
+        this.lifestyleValid = lifestyleValid;
+        this.cleanliness = cleanliness;
+        this.smoking = smoking;
+        this.sleep = sleep;
+        this.interestBits = interestBits;
+        this.interestCount = interestCount;
+        this.interestSketch = interestSketch;
+    }
+
+    /**
+     * Build an unversioned vector from raw preferences JSON (e.g. for a user not yet saved)
+     */
+    public static PreferenceVector parse(String preferencesJson, ObjectMapper objectMapper) {
+        return parse(preferencesJson, 0, objectMapper);
+    }
+
+    /**
+     * Build a vector from raw preferences JSON tagged with the user's preferences version
+     * Malformed JSON yields a vector that scores like an empty preferences object
+     */
+    @SuppressWarnings("unchecked")
+    public static PreferenceVector parse(String preferencesJson, int version, ObjectMapper objectMapper) {
+        if (preferencesJson == null || preferencesJson.trim().isEmpty()) {
+            return version == 0 ? EMPTY
+                    : new PreferenceVector(null, version, false, 0, true, MISSING, MISSING, MISSING, NO_BITS, 0, 0);
+        }
+        try {
+            Map<String, Object> prefs = objectMapper.readValue(preferencesJson, Map.class);
+            return fromMap(preferencesJson, version, prefs);
+        } catch (Exception e) {
+            return new PreferenceVector(preferencesJson, version, false, 0, true, MISSING, MISSING, MISSING, NO_BITS, 0, 0);
+        }
+    }
+
+    private static PreferenceVector fromMap(String sourceJson, int version, Map<String, Object> prefs) {
+        Object budgetValue = prefs.get("budget");
+        boolean hasBudget = budgetValue instanceof Integer;
+        int budget = hasBudget ? (Integer) budgetValue : 0;
+
+        Object cleanlinessValue = prefs.get("cleanliness");
+        Object smokingValue = prefs.get("smoking");
+        boolean lifestyleValid = isStringOrNull(cleanlinessValue) && isStringOrNull(smokingValue);
+        int cleanliness = lifestyleValid ? codeOf(CLEANLINESS, cleanlinessValue) : MISSING;
+        int smoking = lifestyleValid ? codeOf(SMOKING, smokingValue) : MISSING;
+
+        Object sleepValue = prefs.get("sleep");
+        int sleep = sleepValue instanceof String ? SLEEP.codeOf((String) sleepValue) : MISSING;
+
+        long[] interestBits = NO_BITS;
+        int interestCount = 0;
+        int interestSketch = 0;
+        if (prefs.get("interests") instanceof List<?> interests && !interests.isEmpty()) {
+            int[] codes = new int[interests.size()];
+            int maxCode = 0;
+            for (int i = 0; i < codes.length; i++) {
+                String interest = String.valueOf(interests.get(i));
+                codes[i] = INTERESTS.codeOf(interest);
+                interestSketch |= 1 << (interest.hashCode() & 31);
+                maxCode = Math.max(maxCode, codes[i]);
+            }
+            interestBits = new long[(maxCode >>> 6) + 1];
+            for (int code : codes) {
+                interestBits[code >>> 6] |= 1L << code;
+            }
+            for (long word : interestBits) {
+                interestCount += Long.bitCount(word);
+            }
+        }
+
+        return new PreferenceVector(sourceJson, version, hasBudget, budget, lifestyleValid,
+                cleanliness, smoking, sleep, interestBits, interestCount, interestSketch);
+    }
+
+    private static boolean isStringOrNull(Object value) {
+        return value == null || value instanceof String;
+    }
+
+    private static int codeOf(Vocabulary vocabulary, Object value) {
+        return value == null ? MISSING : vocabulary.codeOf((String) value);
+    }
+
+    /**
+     * Check whether this vector was built from the given JSON
+     */
+    public boolean isBuiltFrom(String preferencesJson) {
+        if (sourceJson == preferencesJson) {
+            return true;
+        }
+        return sourceJson != null && sourceJson.equals(preferencesJson);
+    }
+
+    /**
+     * Number of interests shared with another vector
+     */
+    public int sharedInterests(PreferenceVector other) {
+        long[] a = interestBits;
+        long[] b = other.interestBits;
+        int shared = 0;
+        for (int i = 0, n = Math.min(a.length, b.length); i < n; i++) {
+            shared += Long.bitCount(a[i] & b[i]);
+        }
+        return shared;
+    }
+
+    // Getters
+
+    /**
+     * Version tag of the preferences this vector was built from.
+     * The user's preferences_version counter, so it survives restarts and every change gets a new value.
+     */
+    public int getVersion() { return version; }
+
+    public boolean hasBudget() { return hasBudget; }
+    public int getBudget() { return budget; }
+    public boolean isLifestyleValid() { return lifestyleValid; }
+    public int getCleanliness() { return cleanliness; }
+    public int getSmoking() { return smoking; }
+    public int getSleep() { return sleep; }
+    public int getInterestCount() { return interestCount; }
+
+    /**
+     * 32-bucket hash sketch of the interests. Unlike the interned bits it is
+     * stable across restarts, so it can be persisted (e.g. in embeddings).
+     */
+    public int getInterestSketch() { return interestSketch; }
+}
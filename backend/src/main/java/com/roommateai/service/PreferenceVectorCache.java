@@ -0,0 +1,66 @@
+package com.roommateai.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.roommateai.model.User;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Preference Vector Cache
+ * Holds one precomputed PreferenceVector per user, rebuilt when preferences are written
+ */
+@Component
+public class PreferenceVectorCache {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final Map<Long, PreferenceVector> vectors = new ConcurrentHashMap<>();
+
+    /**
+     * Get the vector for a user, rebuilding it if the user's preferences changed since it was cached
+     */
+    public PreferenceVector get(User user) {
+        if (user.getId() == null) {
+            return PreferenceVector.parse(user.getPreferencesJson(), versionOf(user), objectMapper);
+        }
+
+        PreferenceVector cached = vectors.get(user.getId());
+        if (cached != null && cached.getVersion() == versionOf(user) && cached.isBuiltFrom(user.getPreferencesJson())) {
+            return cached;
+        }
+        return refresh(user);
+    }
+
+    /**
+     * Get the cached vector for a user id without rebuilding it
+     */
+    public PreferenceVector peek(Long userId) {
+        return vectors.get(userId);
+    }
+
+    /**
+     * Rebuild and cache the vector for a user after their preferences are written
+     */
+    public PreferenceVector refresh(User user) {
+        PreferenceVector vector = PreferenceVector.parse(user.getPreferencesJson(), versionOf(user), objectMapper);
+        if (user.getId() != null) {
+            vectors.put(user.getId(), vector);
+        }
+        return vector;
+    }
+
+    private static int versionOf(User user) {
+        return user.getPreferencesVersion() != null ? user.getPreferencesVersion() : 0;
+    }
+
+    /**
+     * Drop the cached vector for a user
+     */
+    public void evict(Long userId) {
+        vectors.remove(userId);
+    }
+}
@@ -0,0 +1,189 @@
+package com.roommateai.service;
+
+import com.roommateai.dto.RentalResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Rental Geo Index
+ * In-memory uniform grid of available rentals, keyed by (latitude cell, longitude cell).
+ * A radius query only visits the cells overlapping the radius' bounding box, then checks
+ * the exact distance and the rent/type filters, without touching the database.
+ * Entries are response snapshots, so results can be returned directly.
+ */
+@Component
+public class RentalGeoIndex {
+
+    @Value("${rentals.geo-index.cell-degrees:0.05}")
+    private double cellDegrees;
+
+    // cell key -> rentalId -> entry
+    private final Map<Long, Map<Long, Entry>> cells = new ConcurrentHashMap<>();
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+
+    /**
+     * Replace the index contents (e.g. on startup)
+     */
+    public void load(Collection<RentalResponse> rentals) {
+        cells.clear();
+        entries.clear();
+        for (RentalResponse rental : rentals) {
+            upsert(rental);
+        }
+        loaded = true;
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Add, move or remove a rental after it was created or updated
+     */
+    public void upsert(RentalResponse rental) {
+        if (rental.getId() == null) {
+            return;
+        }
+        if (!Boolean.TRUE.equals(rental.getIsAvailable())
+                || rental.getLatitude() == null || rental.getLongitude() == null) {
+            remove(rental.getId());
+            return;
+        }
+
+        Entry entry = new Entry(rental, cellDegrees);
+        Entry previous = entries.put(rental.getId(), entry);
+        if (previous != null) {
+            Map<Long, Entry> cell = cells.get(previous.cellKey);
+            if (cell != null) {
+                cell.remove(rental.getId());
+            }
+        }
+        cells.computeIfAbsent(entry.cellKey, key -> new ConcurrentHashMap<>()).put(rental.getId(), entry);
+    }
+
+    /**
+     * Remove a rental from the index
+     */
+    public void remove(Long rentalId) {
+        Entry previous = entries.remove(rentalId);
+        if (previous != null) {
+            Map<Long, Entry> cell = cells.get(previous.cellKey);
+            if (cell != null) {
+                cell.remove(rentalId);
+            }
+        }
+    }
+
+    /**
+     * Find rentals within {@code radiusKm} matching the optional filters, closest first,
+     * with {@code distanceKm} set on the returned copies
+     */
+    public List<RentalResponse> findNearby(double latitude, double longitude, double radiusKm,
+                                           BigDecimal minRent, BigDecimal maxRent,
+                                           String propertyType, String roomType) {
+        GeoDistance.BoundingBox box = GeoDistance.boundingBox(latitude, longitude, radiusKm);
+        int minLatCell = cellOf(box.getMinLatitude(), cellDegrees);
+        int maxLatCell = cellOf(box.getMaxLatitude(), cellDegrees);
+        int minLngCell = cellOf(box.getMinLongitude(), cellDegrees);
+        int maxLngCell = cellOf(box.getMaxLongitude(), cellDegrees);
+        int lngCellsAround = (int) Math.ceil(360.0 / cellDegrees);
+
+        List<Hit> hits = new ArrayList<>();
+        long cellsToVisit = (long) (maxLatCell - minLatCell + 1) * Math.min(lngCellsAround, maxLngCell - minLngCell + 1);
+        if (cellsToVisit > entries.size()) {
+            // Huge radius: scanning every entry is cheaper than probing mostly empty cells
+            collect(entries.values(), latitude, longitude, radiusKm, minRent, maxRent, propertyType, roomType, hits);
+        } else {
+            for (int latCell = minLatCell; latCell <= maxLatCell; latCell++) {
+                for (int lngCell = minLngCell; lngCell <= maxLngCell && lngCell < minLngCell + lngCellsAround; lngCell++) {
+                    Map<Long, Entry> cell = cells.get(cellKey(latCell, wrapLongitudeCell(lngCell, cellDegrees)));
+                    if (cell != null) {
+                        collect(cell.values(), latitude, longitude, radiusKm, minRent, maxRent, propertyType, roomType, hits);
+                    }
+                }
+            }
+        }
+
+        hits.sort(Comparator.comparingDouble(hit -> hit.distanceKm));
+        List<RentalResponse> results = new ArrayList<>(hits.size());
+        for (Hit hit : hits) {
+            results.add(withDistance(hit.entry.rental, hit.distanceKm));
+        }
+        return results;
+    }
+
+    private static void collect(Collection<Entry> candidates, double latitude, double longitude, double radiusKm,
+                                BigDecimal minRent, BigDecimal maxRent, String propertyType, String roomType,
+                                List<Hit> hits) {
+        for (Entry entry : candidates) {
+            RentalResponse rental = entry.rental;
+            if ((minRent != null && rental.getRent().compareTo(minRent) < 0)
+                    || (maxRent != null && rental.getRent().compareTo(maxRent) > 0)
+                    || (propertyType != null && !propertyType.equals(rental.getPropertyType()))
+                    || (roomType != null && !roomType.equals(rental.getRoomType()))) {
+                continue;
+            }
+            double distance = GeoDistance.distanceKm(latitude, longitude, entry.latitude, entry.longitude);
+            if (distance <= radiusKm) {
+                hits.add(new Hit(entry, distance));
+            }
+        }
+    }
+
+    private static int cellOf(double degrees, double cellDegrees) {
+        return (int) Math.floor(degrees / cellDegrees);
+    }
+
+    /**
+     * Map a longitude cell that ran past +/-180 back onto the grid
+     */
+    private static int wrapLongitudeCell(int lngCell, double cellDegrees) {
+        int first = cellOf(-180.0, cellDegrees);
+        int cellsAround = (int) Math.ceil(360.0 / cellDegrees);
+        return Math.floorMod(lngCell - first, cellsAround) + first;
+    }
+
+    private static long cellKey(int latCell, int lngCell) {
+        return ((long) latCell << 32) | (lngCell & 0xffffffffL);
+    }
+
+    private static RentalResponse withDistance(RentalResponse source, double distanceKm) {
+        RentalResponse copy = new RentalResponse(source);
+        copy.setDistanceKm(Math.round(distanceKm * 100.0) / 100.0);
+        return copy;
+    }
+
+    private static final class Entry {
+        private final RentalResponse rental;
+        private final double latitude;
+        private final double longitude;
+        private final long cellKey;
+
+        Entry(RentalResponse rental, double cellDegrees) {
+            this.rental = rental;
+            this.latitude = rental.getLatitude().doubleValue();
+            this.longitude = rental.getLongitude().doubleValue();
+            this.cellKey = cellKey(cellOf(latitude, cellDegrees),
+                    wrapLongitudeCell(cellOf(longitude, cellDegrees), cellDegrees));
+        }
+    }
+
+    private static final class Hit {
+        private final Entry entry;
+        private final double distanceKm;
+
+        Hit(Entry entry, double distanceKm) {
+            this.entry = entry;
+            this.distanceKm = distanceKm;
+        }
+    }
+}
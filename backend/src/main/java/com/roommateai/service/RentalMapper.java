@@ -0,0 +1,60 @@
+package com.roommateai.service;
+
+import com.roommateai.dto.RentalResponse;
+import com.roommateai.model.Rental;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Rental Mapper
+ * Converts Rental entities to RentalResponse DTOs.
+ * Reads the owner, so feed it rentals loaded with their owner (the RentalRepository
+ * finders fetch it through an entity graph or join fetch) to avoid one SELECT per row.
+ */
+@Component
+public class RentalMapper {
+
+    /**
+     * Convert Rental entity to RentalResponse DTO
+     */
+    public RentalResponse toResponse(Rental rental) {
+        RentalResponse response = new RentalResponse();
+        response.setId(rental.getId());
+        response.setOwnerId(rental.getOwner().getId());
+        response.setOwnerName(rental.getOwner().getName());
+        response.setTitle(rental.getTitle());
+        response.setDescription(rental.getDescription());
+        response.setRent(rental.getRent());
+        response.setDeposit(rental.getDeposit());
+        response.setAddress(rental.getAddress());
+        response.setCity(rental.getCity());
+        response.setState(rental.getState());
+        response.setPincode(rental.getPincode());
+        response.setLatitude(rental.getLatitude());
+        response.setLongitude(rental.getLongitude());
+        response.setAmenitiesJson(rental.getAmenitiesJson());
+        response.setImagesJson(rental.getImagesJson());
+        response.setPropertyType(rental.getPropertyType().name());
+        response.setRoomType(rental.getRoomType().name());
+        response.setAvailableFrom(rental.getAvailableFrom());
+        response.setAvailableUntil(rental.getAvailableUntil());
+        response.setIsAvailable(rental.getIsAvailable());
+        response.setIsVerified(rental.getIsVerified());
+        response.setCreatedAt(rental.getCreatedAt());
+        response.setUpdatedAt(rental.getUpdatedAt());
+        return response;
+    }
+
+    /**
+     * Convert a list of rentals, sized up front
+     */
+    public List<RentalResponse> toResponses(List<Rental> rentals) {
+        List<RentalResponse> responses = new ArrayList<>(rentals.size());
+        for (Rental rental : rentals) {
+            responses.add(toResponse(rental));
+        }
+        return responses;
+    }
+}
@@ -0,0 +1,145 @@
+package com.roommateai.service;
+
+import com.roommateai.dto.RentalResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Rental Query Cache
+ * Read-through cache of rental reads keyed by normalised query criteria.
+ * Entries expire after rentals.cache.ttl-seconds and the least recently used entry is evicted
+ * beyond rentals.cache.max-entries. Any rental write invalidates everything, since a single
+ * change can move a rental in or out of many cached result lists.
+ * Cached responses are shared, so every read hands out copies that callers are free to modify.
+ */
+@Component
+public class RentalQueryCache {
+
+    @Value("${rentals.cache.max-entries:1000}")
+    private int maxEntries;
+
+    @Value("${rentals.cache.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    private final LinkedHashMap<String, CachedValue> entries = new LinkedHashMap<>(16, 0.75f, true);
+    // Bumped on every invalidation, so a load that raced with a write is not cached
+    private long generation;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    /**
+     * Get a copy of the cached rental list for a key, loading and caching it on a miss or after expiry
+     */
+    public List<RentalResponse> getList(String key, Supplier<List<RentalResponse>> loader) {
+        return RentalResponse.copyOf(get(key, () -> List.copyOf(loader.get())));
+    }
+
+    /**
+     * Get a copy of the cached single rental for a key, loading and caching it on a miss or after expiry
+     */
+    public Optional<RentalResponse> getOne(String key, Supplier<Optional<RentalResponse>> loader) {
+        return get(key, loader).map(RentalResponse::new);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T get(String key, Supplier<T> loader) {
+        long loadedGeneration;
+        synchronized (this) {
+            CachedValue cached = entries.get(key);
+            if (cached != null && cached.expiresAt > System.currentTimeMillis()) {
+                hits.incrementAndGet();
+                return (T) cached.value;
+            }
+            if (cached != null) {
+                entries.remove(key);
+                evictions.incrementAndGet();
+            }
+            loadedGeneration = generation;
+        }
+        misses.incrementAndGet();
+
+        T value = loader.get();
+        synchronized (this) {
+            if (loadedGeneration == generation) {
+                entries.put(key, new CachedValue(value, System.currentTimeMillis() + ttlSeconds * 1000));
+                while (entries.size() > maxEntries) {
+                    entries.remove(entries.keySet().iterator().next());
+                    evictions.incrementAndGet();
+                }
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Drop every cached entry (call after a rental is written)
+     */
+    public synchronized void invalidateAll() {
+        entries.clear();
+        generation++;
+        invalidations.incrementAndGet();
+    }
+
+    /**
+     * Hit/miss counters and current size
+     */
+    public Map<String, Object> stats() {
+        long hitCount = hits.get();
+        long missCount = misses.get();
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("hits", hitCount);
+        stats.put("misses", missCount);
+        stats.put("hitRate", hitCount + missCount == 0 ? 0.0 : (double) hitCount / (hitCount + missCount));
+        stats.put("evictions", evictions.get());
+        stats.put("invalidations", invalidations.get());
+        synchronized (this) {
+            stats.put("size", entries.size());
+        }
+        stats.put("maxEntries", maxEntries);
+        stats.put("ttlSeconds", ttlSeconds);
+        return stats;
+    }
+
+    /**
+     * Build a cache key from a query name and its criteria, so equivalent criteria share an entry
+     * (strings are lower-cased to match the case-insensitive columns, numbers lose trailing zeros, nulls are kept distinct)
+     */
+    public static String key(String query, Object... criteria) {
+        StringBuilder key = new StringBuilder(query);
+        for (Object value : criteria) {
+            key.append('|');
+            if (value == null) {
+                key.append('\u0000');
+            } else if (value instanceof String) {
+                key.append(((String) value).toLowerCase().replace("|", "||"));
+            } else if (value instanceof BigDecimal) {
+                key.append(((BigDecimal) value).stripTrailingZeros().toPlainString());
+            } else {
+                key.append(value);
+            }
+        }
+        return key.toString();
+    }
+
+    private static final class CachedValue {
+        private final Object value;
+        private final long expiresAt;
+
+        CachedValue(Object value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
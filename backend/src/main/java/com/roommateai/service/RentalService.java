@@ -1,15 +1,34 @@
 package com.roommateai.service;
 
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.roommateai.dto.RentalCardResponse;
 import com.roommateai.dto.RentalRequest;
 import com.roommateai.dto.RentalResponse;
+import com.roommateai.model.Amenity;
 import com.roommateai.model.Rental;
 import com.roommateai.model.User;
 import com.roommateai.repository.RentalRepository;
+import com.roommateai.repository.RentalSpecifications;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -23,6 +42,78 @@ public class RentalService {
     @Autowired
     private RentalRepository rentalRepository;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private RentalMapper rentalMapper;
+
+    @Autowired
+    private RentalGeoIndex rentalGeoIndex;
+
+    @Autowired
+    private RentalTextIndex rentalTextIndex;
+
+    @Autowired
+    private RentalQueryCache rentalQueryCache;
+
+    @Autowired
+    private RentalSnapshot rentalSnapshot;
+
+    private static final int AMENITY_BACKFILL_BATCH = 500;
+
+    // Index writes made before the search indexes finish loading, replayed on top of the load;
+    // null once loaded. Guarded by itself
+    private List<Runnable> pendingIndexWrites = new ArrayList<>();
+    private final Object indexWriteLock = new Object();
+
+    /**
+     * Compute amenities masks left at 0 by migration 003, with the same label matching as saves
+     * (Amenity.fromLabel), so re-saving a listing never changes its mask
+     * Runs before the search indexes load, since the snapshot reads the masks
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @Transactional
+    public void backfillAmenityMasks() {
+        long afterId = 0;
+        List<Object[]> batch;
+        do {
+            batch = rentalRepository.findUnmaskedAmenitiesAfter(afterId, PageRequest.of(0, AMENITY_BACKFILL_BATCH));
+            for (Object[] row : batch) {
+                afterId = (Long) row[0];
+                long mask = amenitiesMaskOf((String) row[1]);
+                if (mask != 0) {
+                    rentalRepository.updateAmenitiesMask(afterId, mask);
+                }
+            }
+        } while (batch.size() == AMENITY_BACKFILL_BATCH);
+    }
+
+    /**
+     * Load available rentals into the geo and text indexes once the application is up
+     * Saves and deletes that land while the rentals are read are buffered and replayed after the
+     * load, so a write racing the read is never wiped out by it
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void loadSearchIndexes() {
+        List<Rental> rentals = rentalRepository.findAvailableWithOwner();
+        List<RentalResponse> available = rentalMapper.toResponses(rentals);
+        synchronized (indexWriteLock) {
+            try {
+                rentalGeoIndex.load(available);
+                rentalTextIndex.load(available);
+                rentalSnapshot.load(rentals, available);
+                if (pendingIndexWrites != null) {
+                    pendingIndexWrites.forEach(Runnable::run);
+                }
+            } finally {
+                pendingIndexWrites = null;
+            }
+        }
+    }
+
     /**
      * Create a new rental
      */
@@ -40,6 +131,7 @@ public class RentalService {
         rental.setLatitude(rentalRequest.getLatitude());
         rental.setLongitude(rentalRequest.getLongitude());
         rental.setAmenitiesJson(rentalRequest.getAmenitiesJson());
+        rental.setAmenitiesMask(amenitiesMaskOf(rentalRequest.getAmenitiesJson()));
         rental.setImagesJson(rentalRequest.getImagesJson());
         rental.setPropertyType(Rental.PropertyType.valueOf(rentalRequest.getPropertyType()));
         rental.setRoomType(Rental.RoomType.valueOf(rentalRequest.getRoomType()));
@@ -49,94 +141,353 @@ public class RentalService {
         rental.setIsVerified(false); // Admin verification required
 
         Rental savedRental = rentalRepository.save(rental);
-        return convertToResponse(savedRental);
+        RentalResponse response = rentalMapper.toResponse(savedRental);
+        indexRental(savedRental, response);
+        return response;
     }
 
     /**
      * Get all available rentals
      */
     public List<RentalResponse> getAllAvailableRentals() {
-        List<Rental> rentals = rentalRepository.findByIsAvailable(true);
-        return rentals.stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+        return rentalQueryCache.getList(RentalQueryCache.key("available"), () ->
+                rentalMapper.toResponses(rentalRepository.findByIsAvailable(true)));
     }
 
     /**
      * Get rental by ID
      */
     public Optional<RentalResponse> getRentalById(Long id) {
-        return rentalRepository.findById(id)
-                .map(this::convertToResponse);
+        return rentalQueryCache.getOne(RentalQueryCache.key("id", id), () ->
+                rentalRepository.findById(id)
+                        .map(rentalMapper::toResponse));
     }
 
     /**
      * Get rentals by owner
      */
     public List<RentalResponse> getRentalsByOwner(User owner) {
-        List<Rental> rentals = rentalRepository.findByOwnerId(owner.getId());
-        return rentals.stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+        return rentalMapper.toResponses(rentalRepository.findByOwnerId(owner.getId()));
     }
 
     /**
      * Search rentals by city
      */
     public List<RentalResponse> searchRentalsByCity(String city) {
-        List<Rental> rentals = rentalRepository.findByCity(city);
-        return rentals.stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+        return rentalQueryCache.getList(RentalQueryCache.key("city", city), () ->
+                rentalMapper.toResponses(rentalRepository.findByCity(city)));
     }
 
     /**
      * Search rentals by price range
      */
     public List<RentalResponse> searchRentalsByPriceRange(BigDecimal minRent, BigDecimal maxRent) {
-        List<Rental> rentals = rentalRepository.findByRentBetween(minRent, maxRent);
-        return rentals.stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+        return rentalQueryCache.getList(RentalQueryCache.key("price", minRent, maxRent), () ->
+                rentalMapper.toResponses(rentalRepository.findByRentBetween(minRent, maxRent)));
     }
 
     /**
      * Search rentals by multiple criteria
+     * Rentals must have every listed amenity; rentals without a deposit pass any maxDeposit
      */
     public List<RentalResponse> searchRentalsByCriteria(String city, String state, 
                                                         BigDecimal minRent, BigDecimal maxRent,
-                                                        String propertyType, String roomType) {
+                                                        String propertyType, String roomType,
+                                                        BigDecimal maxDeposit, List<String> amenities) {
         Rental.PropertyType propType = propertyType != null ? 
                 Rental.PropertyType.valueOf(propertyType) : null;
         Rental.RoomType roomTypeEnum = roomType != null ? 
                 Rental.RoomType.valueOf(roomType) : null;
+        long amenityMask = requiredAmenities(amenities);
 
-        List<Rental> rentals = rentalRepository.findByMultipleCriteria(
-                city, state, minRent, maxRent, propType, roomTypeEnum);
-        
-        return rentals.stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+        // Served from the columnar snapshot once it is loaded; until then from the database
+        List<RentalResponse> fromSnapshot = rentalSnapshot.search(new RentalSnapshot.Filter()
+                .city(city).state(state).minRent(minRent).maxRent(maxRent)
+                .propertyType(propType).roomType(roomTypeEnum)
+                .maxDeposit(maxDeposit).amenities(amenityMask));
+        if (fromSnapshot != null) {
+            return fromSnapshot;
+        }
+        return rentalQueryCache.getList(
+                RentalQueryCache.key("criteria", city, state, minRent, maxRent, propType, roomTypeEnum,
+                        maxDeposit, amenityMask), () -> {
+                    Specification<Rental> search = RentalSpecifications.matchingCriteria(
+                            city, state, minRent, maxRent, propType, roomTypeEnum);
+                    if (maxDeposit != null) {
+                        search = search.and(RentalSpecifications.depositAtMost(maxDeposit));
+                    }
+                    return rentalMapper.toResponses(rentalRepository.findAll(search).stream()
+                            .filter(rental -> hasAmenities(rental, amenityMask))
+                            .collect(Collectors.toList()));
+                });
+    }
+
+    /**
+     * Facet counts for a criteria search: per property type, room type, rent range and amenity
+     * Computed in one pass over the columnar snapshot; until it is loaded, counted from the
+     * results the search returned
+     */
+    public Map<String, Object> getSearchFacets(String city, String state,
+                                               BigDecimal minRent, BigDecimal maxRent,
+                                               String propertyType, String roomType,
+                                               BigDecimal maxDeposit, List<String> amenities,
+                                               List<RentalResponse> results) {
+        Rental.PropertyType propType = propertyType != null ?
+                Rental.PropertyType.valueOf(propertyType) : null;
+        Rental.RoomType roomTypeEnum = roomType != null ?
+                Rental.RoomType.valueOf(roomType) : null;
+        Map<String, Object> facets = rentalSnapshot.facets(new RentalSnapshot.Filter()
+                .city(city).state(state).minRent(minRent).maxRent(maxRent)
+                .propertyType(propType).roomType(roomTypeEnum)
+                .maxDeposit(maxDeposit).amenities(requiredAmenities(amenities)));
+        if (facets != null) {
+            return facets;
+        }
+        return rentalSnapshot.facetsOf(results, rental -> amenitiesMaskOf(rental.getAmenitiesJson()));
     }
 
     /**
-     * Search rentals by text
+     * Search rentals by text, best match first
+     * Each word of the query must start a word of the title or description ("furn" finds
+     * "furnished", "partment" finds nothing); a query without words lists every available rental.
+     * Served from the in-memory text index; until it is loaded, the same matching runs in the
+     * database, newest first instead of ranked
      */
     public List<RentalResponse> searchRentalsByText(String searchTerm) {
-        List<Rental> rentals = rentalRepository.searchByTitleOrDescription(searchTerm);
-        return rentals.stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+        List<String> tokens = RentalTextIndex.tokenize(searchTerm);
+        if (tokens.isEmpty()) {
+            return getAllAvailableRentals();
+        }
+        if (rentalTextIndex.isLoaded()) {
+            return rentalTextIndex.search(searchTerm);
+        }
+        return rentalMapper.toResponses(rentalRepository.findAll(
+                Specification.where(RentalSpecifications.isAvailable())
+                        .and(RentalSpecifications.fetchOwner())
+                        .and(RentalSpecifications.hasWordsStartingWith(tokens)),
+                Sort.by(Sort.Direction.DESC, "createdAt")));
+    }
+
+    /**
+     * Rental query cache counters
+     */
+    public Map<String, Object> getCacheStats() {
+        return rentalQueryCache.stats();
     }
 
     /**
-     * Find nearby rentals
+     * Find nearby rentals, closest first
      */
     public List<RentalResponse> findNearbyRentals(BigDecimal latitude, BigDecimal longitude, Double radiusKm) {
-        List<Rental> rentals = rentalRepository.findNearbyRentals(latitude, longitude, radiusKm);
-        return rentals.stream()
-                .map(this::convertToResponse)
+        return findNearbyRentals(latitude, longitude, radiusKm, null, null, null, null, null, null);
+    }
+
+    /**
+     * Find nearby rentals matching optional rent, type, deposit and amenity filters, closest first
+     * Served from the in-memory geo index; with a deposit or amenity filter, from the bounding box
+     * and filter columns of the rental snapshot. Until they are loaded, narrows rows with an
+     * indexed bounding box. Either way the exact distance is computed for the survivors
+     */
+    public List<RentalResponse> findNearbyRentals(BigDecimal latitude, BigDecimal longitude, Double radiusKm,
+                                                  BigDecimal minRent, BigDecimal maxRent,
+                                                  String propertyType, String roomType,
+                                                  BigDecimal maxDeposit, List<String> amenities) {
+        double lat = latitude.doubleValue();
+        double lng = longitude.doubleValue();
+        long amenityMask = requiredAmenities(amenities);
+        if (maxDeposit == null && amenityMask == 0 && rentalGeoIndex.isLoaded()) {
+            return rentalGeoIndex.findNearby(lat, lng, radiusKm, minRent, maxRent, propertyType, roomType);
+        }
+
+        GeoDistance.BoundingBox box = GeoDistance.boundingBox(lat, lng, radiusKm);
+        List<RentalResponse> fromSnapshot = rentalSnapshot.search(new RentalSnapshot.Filter()
+                .within(box).minRent(minRent).maxRent(maxRent)
+                .propertyType(propertyType != null ? Rental.PropertyType.valueOf(propertyType) : null)
+                .roomType(roomType != null ? Rental.RoomType.valueOf(roomType) : null)
+                .maxDeposit(maxDeposit).amenities(amenityMask));
+        if (fromSnapshot != null) {
+            List<RentalResponse> nearby = new ArrayList<>();
+            for (RentalResponse rental : fromSnapshot) {
+                double distance = GeoDistance.distanceKm(lat, lng,
+                        rental.getLatitude().doubleValue(), rental.getLongitude().doubleValue());
+                if (distance <= radiusKm) {
+                    rental.setDistanceKm(Math.round(distance * 100.0) / 100.0);
+                    nearby.add(rental);
+                }
+            }
+            nearby.sort(Comparator.comparingDouble(RentalResponse::getDistanceKm));
+            return nearby;
+        }
+
+        List<Rental> inBox = new ArrayList<>();
+        if (box.getMinLongitude() < -180.0) {
+            // Split at the antimeridian
+            inBox.addAll(findInBox(box, box.getMinLongitude() + 360.0, 180.0));
+            inBox.addAll(findInBox(box, -180.0, box.getMaxLongitude()));
+        } else if (box.getMaxLongitude() > 180.0) {
+            inBox.addAll(findInBox(box, box.getMinLongitude(), 180.0));
+            inBox.addAll(findInBox(box, -180.0, box.getMaxLongitude() - 360.0));
+        } else {
+            inBox.addAll(findInBox(box, box.getMinLongitude(), box.getMaxLongitude()));
+        }
+
+        List<RentalResponse> nearby = new ArrayList<>();
+        for (Rental rental : inBox) {
+            if ((minRent != null && rental.getRent().compareTo(minRent) < 0)
+                    || (maxRent != null && rental.getRent().compareTo(maxRent) > 0)
+                    || (propertyType != null && !propertyType.equals(rental.getPropertyType().name()))
+                    || (roomType != null && !roomType.equals(rental.getRoomType().name()))
+                    || (maxDeposit != null && rental.getDeposit() != null && rental.getDeposit().compareTo(maxDeposit) > 0)
+                    || !hasAmenities(rental, amenityMask)) {
+                continue;
+            }
+            double distance = GeoDistance.distanceKm(lat, lng,
+                    rental.getLatitude().doubleValue(), rental.getLongitude().doubleValue());
+            if (distance <= radiusKm) {
+                RentalResponse response = rentalMapper.toResponse(rental);
+                response.setDistanceKm(Math.round(distance * 100.0) / 100.0);
+                nearby.add(response);
+            }
+        }
+        nearby.sort(Comparator.comparingDouble(RentalResponse::getDistanceKm));
+        return nearby;
+    }
+
+    private List<Rental> findInBox(GeoDistance.BoundingBox box, double minLongitude, double maxLongitude) {
+        return rentalRepository.findAvailableInBoundingBox(
+                BigDecimal.valueOf(box.getMinLatitude()), BigDecimal.valueOf(box.getMaxLatitude()),
+                BigDecimal.valueOf(minLongitude), BigDecimal.valueOf(maxLongitude));
+    }
+
+    /**
+     * Page through listing cards matching the criteria with a keyset cursor
+     * Sort is "newest" (default) or "rent"; pass the returned nextCursor to get the next page
+     */
+    public CardPage getRentalCards(String city, String state, BigDecimal minRent, BigDecimal maxRent,
+                                   String propertyType, String roomType,
+                                   String sort, String cursor, int limit) {
+        Rental.PropertyType propType = propertyType != null ?
+                Rental.PropertyType.valueOf(propertyType) : null;
+        Rental.RoomType roomTypeEnum = roomType != null ?
+                Rental.RoomType.valueOf(roomType) : null;
+        String[] after = cursor != null && !cursor.isEmpty() ? decodeCursor(cursor) : null;
+        Long afterId = after != null ? parseCursorId(after[0]) : null;
+        // Only the criteria actually set become predicates, so MySQL can pick the matching index
+        Specification<Rental> spec = Specification.where(RentalSpecifications.isAvailable())
+                .and(RentalSpecifications.hasCriteria(city, state, minRent, maxRent, propType, roomTypeEnum));
+
+        // One extra row tells whether there is a next page
+        List<RentalCardResponse> cards;
+        if (sort == null || sort.equalsIgnoreCase("newest")) {
+            if (after != null) {
+                LocalDateTime afterCreatedAt;
+                try {
+                    afterCreatedAt = LocalDateTime.parse(after[1]);
+                } catch (RuntimeException e) {
+                    throw new IllegalArgumentException("Invalid cursor");
+                }
+                spec = spec.and(RentalSpecifications.afterNewestPosition(afterCreatedAt, afterId));
+            }
+            cards = rentalRepository.findCards(spec,
+                    Sort.by(Sort.Direction.DESC, "createdAt").and(Sort.by(Sort.Direction.DESC, "id")), limit + 1);
+        } else if (sort.equalsIgnoreCase("rent")) {
+            if (after != null) {
+                BigDecimal afterRent;
+                try {
+                    afterRent = new BigDecimal(after[1]);
+                } catch (RuntimeException e) {
+                    throw new IllegalArgumentException("Invalid cursor");
+                }
+                spec = spec.and(RentalSpecifications.afterRentPosition(afterRent, afterId));
+            }
+            cards = rentalRepository.findCards(spec,
+                    Sort.by(Sort.Direction.ASC, "rent").and(Sort.by(Sort.Direction.ASC, "id")), limit + 1);
+        } else {
+            throw new IllegalArgumentException("Unknown sort: " + sort);
+        }
+
+        String nextCursor = null;
+        if (cards.size() > limit) {
+            cards = new ArrayList<>(cards.subList(0, limit));
+            RentalCardResponse last = cards.get(limit - 1);
+            boolean byRent = sort != null && sort.equalsIgnoreCase("rent");
+            nextCursor = encodeCursor(last.getId(),
+                    byRent ? last.getRent().toPlainString() : last.getCreatedAt().toString());
+        }
+        return new CardPage(cards, nextCursor);
+    }
+
+    /**
+     * Page through listing cards near a location, closest first, with a keyset cursor
+     */
+    public CardPage getNearbyRentalCards(BigDecimal latitude, BigDecimal longitude, Double radiusKm,
+                                         BigDecimal minRent, BigDecimal maxRent,
+                                         String propertyType, String roomType,
+                                         String cursor, int limit) {
+        double afterDistance = Double.NEGATIVE_INFINITY;
+        long afterId = Long.MIN_VALUE;
+        if (cursor != null && !cursor.isEmpty()) {
+            String[] after = decodeCursor(cursor);
+            afterId = parseCursorId(after[0]);
+            try {
+                afterDistance = Double.parseDouble(after[1]);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+        }
+
+        List<RentalCardResponse> nearby = findNearbyRentals(latitude, longitude, radiusKm,
+                minRent, maxRent, propertyType, roomType, null, null).stream()
+                .map(RentalCardResponse::from)
+                .sorted(Comparator.comparingDouble(RentalCardResponse::getDistanceKm)
+                        .thenComparing(RentalCardResponse::getId))
                 .collect(Collectors.toList());
+
+        List<RentalCardResponse> cards = new ArrayList<>(limit);
+        String nextCursor = null;
+        for (RentalCardResponse card : nearby) {
+            if (card.getDistanceKm() < afterDistance
+                    || (card.getDistanceKm() == afterDistance && card.getId() <= afterId)) {
+                continue;
+            }
+            if (cards.size() == limit) {
+                RentalCardResponse last = cards.get(limit - 1);
+                nextCursor = encodeCursor(last.getId(), String.valueOf(last.getDistanceKm()));
+                break;
+            }
+            cards.add(card);
+        }
+        return new CardPage(cards, nextCursor);
+    }
+
+    private static String encodeCursor(long id, String sortValue) {
+        String raw = id + ":" + sortValue;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Split a cursor into its id and sort value
+     */
+    private static String[] decodeCursor(String cursor) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        String[] parts = raw.split(":", 2);
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        return parts;
+    }
+
+    private static long parseCursorId(String id) {
+        try {
+            return Long.parseLong(id);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
     }
 
     /**
@@ -166,6 +517,7 @@ public class RentalService {
             rental.setLatitude(rentalRequest.getLatitude());
             rental.setLongitude(rentalRequest.getLongitude());
             rental.setAmenitiesJson(rentalRequest.getAmenitiesJson());
+            rental.setAmenitiesMask(amenitiesMaskOf(rentalRequest.getAmenitiesJson()));
             rental.setImagesJson(rentalRequest.getImagesJson());
             rental.setPropertyType(Rental.PropertyType.valueOf(rentalRequest.getPropertyType()));
             rental.setRoomType(Rental.RoomType.valueOf(rentalRequest.getRoomType()));
@@ -173,7 +525,9 @@ public class RentalService {
             rental.setAvailableUntil(rentalRequest.getAvailableUntil());
 
             Rental updatedRental = rentalRepository.save(rental);
-            return Optional.of(convertToResponse(updatedRental));
+            RentalResponse response = rentalMapper.toResponse(updatedRental);
+            indexRental(updatedRental, response);
+            return Optional.of(response);
         }
         
         return Optional.empty();
@@ -192,6 +546,12 @@ public class RentalService {
             if (rental.getOwner().getId().equals(owner.getId()) || 
                 owner.getRole().equals(User.UserRole.ADMIN)) {
                 rentalRepository.delete(rental);
+                rentalQueryCache.invalidateAll();
+                writeIndexes(() -> {
+                    rentalGeoIndex.remove(id);
+                    rentalTextIndex.remove(id);
+                    rentalSnapshot.remove(id);
+                });
                 return true;
             }
         }
@@ -208,7 +568,8 @@ public class RentalService {
         if (optionalRental.isPresent()) {
             Rental rental = optionalRental.get();
             rental.setIsVerified(true);
-            rentalRepository.save(rental);
+            Rental verifiedRental = rentalRepository.save(rental);
+            indexRental(verifiedRental, rentalMapper.toResponse(verifiedRental));
             return true;
         }
         
@@ -216,34 +577,84 @@ public class RentalService {
     }
 
     /**
-     * Convert Rental entity to RentalResponse DTO
-     */
-    private RentalResponse convertToResponse(Rental rental) {
-        RentalResponse response = new RentalResponse();
-        response.setId(rental.getId());
-        response.setOwnerId(rental.getOwner().getId());
-        response.setOwnerName(rental.getOwner().getName());
-        response.setTitle(rental.getTitle());
-        response.setDescription(rental.getDescription());
-        response.setRent(rental.getRent());
-        response.setDeposit(rental.getDeposit());
-        response.setAddress(rental.getAddress());
-        response.setCity(rental.getCity());
-        response.setState(rental.getState());
-        response.setPincode(rental.getPincode());
-        response.setLatitude(rental.getLatitude());
-        response.setLongitude(rental.getLongitude());
-        response.setAmenitiesJson(rental.getAmenitiesJson());
-        response.setImagesJson(rental.getImagesJson());
-        response.setPropertyType(rental.getPropertyType().name());
-        response.setRoomType(rental.getRoomType().name());
-        response.setAvailableFrom(rental.getAvailableFrom());
-        response.setAvailableUntil(rental.getAvailableUntil());
-        response.setIsAvailable(rental.getIsAvailable());
-        response.setIsVerified(rental.getIsVerified());
-        response.setCreatedAt(rental.getCreatedAt());
-        response.setUpdatedAt(rental.getUpdatedAt());
-        
-        return response;
+     * Bitmask of the canonical amenities listed in an amenities JSON array
+     */
+    private long amenitiesMaskOf(String amenitiesJson) {
+        if (amenitiesJson == null || amenitiesJson.isBlank()) {
+            return 0L;
+        }
+        try {
+            List<String> labels = objectMapper.readValue(amenitiesJson, new TypeReference<List<String>>() {});
+            return Amenity.maskOf(labels);
+        } catch (Exception e) {
+            // Not a list of labels: no canonical amenities
+            return 0L;
+        }
+    }
+
+    /**
+     * Mask of the amenities a search requires (0 for none)
+     *
+     * @throws IllegalArgumentException for a label outside the canonical amenities
+     */
+    private static long requiredAmenities(List<String> labels) {
+        if (labels == null) {
+            return 0L;
+        }
+        long mask = 0;
+        for (String label : labels) {
+            Amenity amenity = Amenity.fromLabel(label);
+            if (amenity == null) {
+                throw new IllegalArgumentException("Unknown amenity: " + label);
+            }
+            mask |= amenity.bit();
+        }
+        return mask;
+    }
+
+    private static boolean hasAmenities(Rental rental, long amenityMask) {
+        long mask = rental.getAmenitiesMask() == null ? 0L : rental.getAmenitiesMask();
+        return (mask & amenityMask) == amenityMask;
+    }
+
+    /**
+     * Bring the query cache and search indexes up to date with a saved rental
+     */
+    private void indexRental(Rental rental, RentalResponse response) {
+        rentalQueryCache.invalidateAll();
+        writeIndexes(() -> {
+            rentalGeoIndex.upsert(response);
+            rentalTextIndex.upsert(response);
+            rentalSnapshot.upsert(rental, response);
+        });
+    }
+
+    /**
+     * Apply a write to the search indexes, or hold it for replay while they are still loading
+     */
+    private void writeIndexes(Runnable write) {
+        synchronized (indexWriteLock) {
+            if (pendingIndexWrites != null) {
+                pendingIndexWrites.add(write);
+            } else {
+                write.run();
+            }
+        }
+    }
+
+    /**
+     * One page of listing cards plus the cursor for the next page (null on the last page)
+     */
+    public static class CardPage {
+        private final List<RentalCardResponse> rentals;
+        private final String nextCursor;
+
+        public CardPage(List<RentalCardResponse> rentals, String nextCursor) {
+            this.rentals = rentals;
+            this.nextCursor = nextCursor;
+        }
+
+        public List<RentalCardResponse> getRentals() { return rentals; }
+        public String getNextCursor() { return nextCursor; }
     }
 }
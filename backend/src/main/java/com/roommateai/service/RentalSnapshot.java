@@ -0,0 +1,517 @@
+package com.roommateai.service;
+
+import com.roommateai.dto.RentalResponse;
+import com.roommateai.model.Amenity;
+import com.roommateai.model.Rental;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToLongFunction;
+
+/**
+ * Rental Snapshot
+ * Columnar in-memory copy of the available rentals: rent and deposit as long cents, city/state as
+ * dictionary codes, enums as bytes, coordinates as floats and one row bitset per amenity (for
+ * amenity filters and facet counts).
+ * Each filter is a dense pass over one primitive array that builds a 64-row word mask and ANDs it
+ * into the match bitset, so searches and facet counts never touch the database or walk objects.
+ * Writes patch a copy of the columns (only the changed row is re-derived) and publish it with a
+ * single volatile write, so readers always see a consistent snapshot without locking.
+ */
+@Component
+public class RentalSnapshot {
+
+    private static final Rental.PropertyType[] PROPERTY_TYPES = Rental.PropertyType.values();
+    private static final Rental.RoomType[] ROOM_TYPES = Rental.RoomType.values();
+    private static final Amenity[] AMENITIES = Amenity.values();
+    // Deposit column value for rentals without a deposit; below every maxDeposit, like SQL's IS NULL OR <=
+    private static final long NO_DEPOSIT = Long.MIN_VALUE;
+    // Coordinates are stored as floats, so bounding boxes are widened by one float ulp at 180 degrees;
+    // callers check the exact distance on the returned rentals
+    private static final double COORDINATE_SLACK = Math.ulp(180f);
+
+    @Value("${rentals.facets.rent-bucket-size:5000}")
+    private long rentBucketSize;
+
+    @Value("${rentals.facets.rent-buckets:5}")
+    private int rentBuckets;
+
+    // Writer-side rentalId -> row; readers only use the published columns
+    private final Map<Long, Integer> slots = new HashMap<>();
+    private volatile Columns columns;
+
+    /**
+     * Replace the snapshot contents (e.g. on startup)
+     * Rentals and responses are parallel lists
+     */
+    public synchronized void load(List<Rental> rentals, List<RentalResponse> responses) {
+        slots.clear();
+        Columns next = new Columns(rentals.size(), new Dictionary(), new Dictionary());
+        for (int i = 0; i < rentals.size(); i++) {
+            Rental rental = rentals.get(i);
+            if (Boolean.TRUE.equals(rental.getIsAvailable()) && rental.getId() != null) {
+                slots.put(rental.getId(), next.size);
+                next.set(next.size++, rental, responses.get(i));
+            }
+        }
+        columns = next;
+    }
+
+    public boolean isLoaded() {
+        return columns != null;
+    }
+
+    /**
+     * Add, refresh or drop a rental after it was saved
+     */
+    public synchronized void upsert(Rental rental, RentalResponse response) {
+        if (columns == null || rental.getId() == null) {
+            return;
+        }
+        if (!Boolean.TRUE.equals(rental.getIsAvailable())) {
+            remove(rental.getId());
+            return;
+        }
+
+        Integer slot = slots.get(rental.getId());
+        Columns next;
+        if (slot == null) {
+            next = columns.copy(columns.size + 1);
+            slot = next.size++;
+            slots.put(rental.getId(), slot);
+        } else {
+            next = columns.copy(columns.size);
+        }
+        next.set(slot, rental, response);
+        columns = next;
+    }
+
+    /**
+     * Drop a rental after it was deleted
+     */
+    public synchronized void remove(Long rentalId) {
+        if (columns == null) {
+            return;
+        }
+        Integer slot = slots.remove(rentalId);
+        if (slot == null) {
+            return;
+        }
+
+        Columns next = columns.copy(columns.size);
+        int last = --next.size;
+        if (slot != last) {
+            // Keep the rows dense: the last row takes the freed slot
+            next.move(last, slot);
+            slots.put(next.ids[slot], slot);
+        }
+        next.clear(last);
+        columns = next;
+    }
+
+    /**
+     * Available rentals matching the filter, ordered by id
+     * Returns null before the snapshot is loaded
+     */
+    public List<RentalResponse> search(Filter filter) {
+        Columns snapshot = columns;
+        if (snapshot == null) {
+            return null;
+        }
+        long[] match = snapshot.scan(filter);
+
+        List<RentalResponse> results = new ArrayList<>();
+        for (int w = 0; w < match.length; w++) {
+            long bits = match[w];
+            while (bits != 0) {
+                // Copies: the payload responses are shared by every search
+                results.add(new RentalResponse(snapshot.payload[(w << 6) + Long.numberOfTrailingZeros(bits)]));
+                bits &= bits - 1;
+            }
+        }
+        results.sort((a, b) -> Long.compare(a.getId(), b.getId()));
+        return results;
+    }
+
+    /**
+     * Counts per property type, room type, rent bucket and amenity among the available rentals
+     * matching the filter, or null before the snapshot is loaded
+     */
+    public Map<String, Object> facets(Filter filter) {
+        Columns snapshot = columns;
+        if (snapshot == null) {
+            return null;
+        }
+        long[] match = snapshot.scan(filter);
+
+        int[] propertyCounts = new int[PROPERTY_TYPES.length];
+        int[] roomCounts = new int[ROOM_TYPES.length];
+        int[] rentCounts = new int[Math.max(1, rentBuckets)];
+        int total = 0;
+        for (int w = 0; w < match.length; w++) {
+            long bits = match[w];
+            total += Long.bitCount(bits);
+            while (bits != 0) {
+                int i = (w << 6) + Long.numberOfTrailingZeros(bits);
+                propertyCounts[snapshot.propertyType[i]]++;
+                roomCounts[snapshot.roomType[i]]++;
+                rentCounts[rentBucket(snapshot.rentCents[i])]++;
+                bits &= bits - 1;
+            }
+        }
+        int[] amenityCounts = new int[AMENITIES.length];
+        for (int a = 0; a < AMENITIES.length; a++) {
+            long[] rows = snapshot.amenityRows[a];
+            int count = 0;
+            for (int w = 0; w < match.length; w++) {
+                count += Long.bitCount(match[w] & rows[w]);
+            }
+            amenityCounts[a] = count;
+        }
+        return facetMap(total, propertyCounts, roomCounts, rentCounts, amenityCounts);
+    }
+
+    /**
+     * The same counts over already filtered responses, for results served from the database
+     * before the snapshot is loaded; amenityMask gives each response's amenity bits
+     */
+    public Map<String, Object> facetsOf(List<RentalResponse> rentals, ToLongFunction<RentalResponse> amenityMask) {
+        int[] propertyCounts = new int[PROPERTY_TYPES.length];
+        int[] roomCounts = new int[ROOM_TYPES.length];
+        int[] rentCounts = new int[Math.max(1, rentBuckets)];
+        int[] amenityCounts = new int[AMENITIES.length];
+        for (RentalResponse rental : rentals) {
+            propertyCounts[Rental.PropertyType.valueOf(rental.getPropertyType()).ordinal()]++;
+            roomCounts[Rental.RoomType.valueOf(rental.getRoomType()).ordinal()]++;
+            rentCounts[rentBucket(toCents(rental.getRent()))]++;
+            long mask = amenityMask.applyAsLong(rental);
+            for (int a = 0; a < AMENITIES.length; a++) {
+                if ((mask & AMENITIES[a].bit()) != 0) {
+                    amenityCounts[a]++;
+                }
+            }
+        }
+        return facetMap(rentals.size(), propertyCounts, roomCounts, rentCounts, amenityCounts);
+    }
+
+    private int rentBucket(long rentCents) {
+        long bucketCents = Math.max(1, rentBucketSize) * 100;
+        return (int) Math.min(Math.max(1, rentBuckets) - 1, Math.max(0, rentCents) / bucketCents);
+    }
+
+    private Map<String, Object> facetMap(int total, int[] propertyCounts, int[] roomCounts,
+                                         int[] rentCounts, int[] amenityCounts) {
+        int bucketCount = rentCounts.length;
+        Map<String, Integer> propertyTypes = new LinkedHashMap<>();
+        for (Rental.PropertyType type : PROPERTY_TYPES) {
+            propertyTypes.put(type.name(), propertyCounts[type.ordinal()]);
+        }
+        Map<String, Integer> roomTypes = new LinkedHashMap<>();
+        for (Rental.RoomType type : ROOM_TYPES) {
+            roomTypes.put(type.name(), roomCounts[type.ordinal()]);
+        }
+        List<Map<String, Object>> rentRanges = new ArrayList<>(bucketCount);
+        for (int b = 0; b < bucketCount; b++) {
+            Map<String, Object> bucket = new LinkedHashMap<>();
+            bucket.put("min", b * rentBucketSize);
+            bucket.put("max", b == bucketCount - 1 ? null : (b + 1) * rentBucketSize);
+            bucket.put("count", rentCounts[b]);
+            rentRanges.add(bucket);
+        }
+        Map<String, Integer> amenities = new LinkedHashMap<>();
+        for (Amenity amenity : AMENITIES) {
+            amenities.put(amenity.getLabel(), amenityCounts[amenity.ordinal()]);
+        }
+
+        Map<String, Object> facets = new LinkedHashMap<>();
+        facets.put("total", total);
+        facets.put("propertyTypes", propertyTypes);
+        facets.put("roomTypes", roomTypes);
+        facets.put("rentRanges", rentRanges);
+        facets.put("amenities", amenities);
+        return facets;
+    }
+
+    static long toCents(BigDecimal amount) {
+        return amount.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    /**
+     * Snapshot filter; unset fields match everything
+     * amenities is a mask of Amenity bits a rental must all have; within keeps rentals whose
+     * coordinates fall in the box, a superset of the radius search it was built for
+     */
+    public static class Filter {
+        private String city;
+        private String state;
+        private BigDecimal minRent;
+        private BigDecimal maxRent;
+        private Rental.PropertyType propertyType;
+        private Rental.RoomType roomType;
+        private BigDecimal maxDeposit;
+        private long amenities;
+        private GeoDistance.BoundingBox within;
+
+        public Filter city(String city) { this.city = city; return this; }
+        public Filter state(String state) { this.state = state; return this; }
+        public Filter minRent(BigDecimal minRent) { this.minRent = minRent; return this; }
+        public Filter maxRent(BigDecimal maxRent) { this.maxRent = maxRent; return this; }
+        public Filter propertyType(Rental.PropertyType propertyType) { this.propertyType = propertyType; return this; }
+        public Filter roomType(Rental.RoomType roomType) { this.roomType = roomType; return this; }
+        public Filter maxDeposit(BigDecimal maxDeposit) { this.maxDeposit = maxDeposit; return this; }
+        public Filter amenities(long amenities) { this.amenities = amenities; return this; }
+        public Filter within(GeoDistance.BoundingBox within) { this.within = within; return this; }
+    }
+
+    /**
+     * Append-only string -> code dictionary shared by every copy of a snapshot
+     */
+    private static final class Dictionary {
+        private final Map<String, Integer> codes = new ConcurrentHashMap<>();
+
+        int code(String value) {
+            // Only called by the (single) writer, so size() is a safe next code
+            Integer code = codes.get(value);
+            if (code == null) {
+                code = codes.size();
+                codes.put(value, code);
+            }
+            return code;
+        }
+
+        int lookup(String value) {
+            return codes.getOrDefault(value, -1);
+        }
+    }
+
+    /**
+     * One array per field, indexed by row; never modified once published
+     */
+    private static final class Columns {
+        private int size;
+        private final long[] ids;
+        private final long[] rentCents;
+        private final long[] depositCents;
+        private final int[] city;
+        private final int[] state;
+        private final byte[] propertyType;
+        private final byte[] roomType;
+        private final float[] latitude;   // NaN when unknown
+        private final float[] longitude;
+        private final long[][] amenityRows; // [amenity][row word]: bit set when the row has it
+        private final RentalResponse[] payload;
+        private final Dictionary cities;
+        private final Dictionary states;
+
+        Columns(int capacity, Dictionary cities, Dictionary states) {
+            this.ids = new long[capacity];
+            this.rentCents = new long[capacity];
+            this.depositCents = new long[capacity];
+            this.city = new int[capacity];
+            this.state = new int[capacity];
+            this.propertyType = new byte[capacity];
+            this.roomType = new byte[capacity];
+            this.latitude = new float[capacity];
+            this.longitude = new float[capacity];
+            this.amenityRows = new long[AMENITIES.length][(capacity + 63) >>> 6];
+            this.payload = new RentalResponse[capacity];
+            this.cities = cities;
+            this.states = states;
+        }
+
+        /**
+         * Copy with room for {@code capacity} rows; the copy is unpublished until swapped in
+         */
+        Columns copy(int capacity) {
+            Columns next = new Columns(capacity, cities, states);
+            next.size = size;
+            System.arraycopy(ids, 0, next.ids, 0, size);
+            System.arraycopy(rentCents, 0, next.rentCents, 0, size);
+            System.arraycopy(depositCents, 0, next.depositCents, 0, size);
+            System.arraycopy(city, 0, next.city, 0, size);
+            System.arraycopy(state, 0, next.state, 0, size);
+            System.arraycopy(propertyType, 0, next.propertyType, 0, size);
+            System.arraycopy(roomType, 0, next.roomType, 0, size);
+            System.arraycopy(latitude, 0, next.latitude, 0, size);
+            System.arraycopy(longitude, 0, next.longitude, 0, size);
+            System.arraycopy(payload, 0, next.payload, 0, size);
+            for (int a = 0; a < AMENITIES.length; a++) {
+                System.arraycopy(amenityRows[a], 0, next.amenityRows[a], 0,
+                        Math.min(amenityRows[a].length, next.amenityRows[a].length));
+            }
+            return next;
+        }
+
+        void set(int row, Rental rental, RentalResponse response) {
+            ids[row] = rental.getId();
+            rentCents[row] = toCents(rental.getRent());
+            depositCents[row] = rental.getDeposit() == null ? NO_DEPOSIT : toCents(rental.getDeposit());
+            city[row] = cities.code(rental.getCity() == null ? "" : rental.getCity().toLowerCase());
+            state[row] = states.code(rental.getState() == null ? "" : rental.getState().toLowerCase());
+            propertyType[row] = (byte) rental.getPropertyType().ordinal();
+            roomType[row] = (byte) rental.getRoomType().ordinal();
+            latitude[row] = rental.getLatitude() == null ? Float.NaN : rental.getLatitude().floatValue();
+            longitude[row] = rental.getLongitude() == null ? Float.NaN : rental.getLongitude().floatValue();
+            long mask = rental.getAmenitiesMask() == null ? 0L : rental.getAmenitiesMask();
+            for (int a = 0; a < AMENITIES.length; a++) {
+                if ((mask & AMENITIES[a].bit()) != 0) {
+                    amenityRows[a][row >>> 6] |= 1L << row;
+                } else {
+                    amenityRows[a][row >>> 6] &= ~(1L << row);
+                }
+            }
+            payload[row] = response;
+        }
+
+        void move(int from, int to) {
+            ids[to] = ids[from];
+            rentCents[to] = rentCents[from];
+            depositCents[to] = depositCents[from];
+            city[to] = city[from];
+            state[to] = state[from];
+            propertyType[to] = propertyType[from];
+            roomType[to] = roomType[from];
+            latitude[to] = latitude[from];
+            longitude[to] = longitude[from];
+            payload[to] = payload[from];
+            for (long[] rows : amenityRows) {
+                if ((rows[from >>> 6] & (1L << from)) != 0) {
+                    rows[to >>> 6] |= 1L << to;
+                } else {
+                    rows[to >>> 6] &= ~(1L << to);
+                }
+            }
+        }
+
+        void clear(int row) {
+            payload[row] = null;
+            for (long[] rows : amenityRows) {
+                rows[row >>> 6] &= ~(1L << row);
+            }
+        }
+
+        /**
+         * Bitset of the rows matching the filter
+         * Every predicate is a dense pass over its column: each row's comparison becomes one bit of a
+         * 64-row word (no data-dependent branches), and the word is ANDed into the match bitset
+         */
+        long[] scan(Filter filter) {
+            int n = size;
+            long[] match = new long[(n + 63) >>> 6];
+            Arrays.fill(match, -1L);
+            if ((n & 63) != 0) {
+                match[match.length - 1] = (1L << n) - 1;
+            }
+
+            if (filter.propertyType != null) {
+                keepEqual(match, n, propertyType, (byte) filter.propertyType.ordinal());
+            }
+            if (filter.roomType != null) {
+                keepEqual(match, n, roomType, (byte) filter.roomType.ordinal());
+            }
+            if (filter.city != null) {
+                keepEqual(match, n, city, cities.lookup(filter.city.toLowerCase()));
+            }
+            if (filter.state != null) {
+                keepEqual(match, n, state, states.lookup(filter.state.toLowerCase()));
+            }
+            if (filter.minRent != null || filter.maxRent != null) {
+                long min = filter.minRent == null ? Long.MIN_VALUE : toCents(filter.minRent);
+                long max = filter.maxRent == null ? Long.MAX_VALUE : toCents(filter.maxRent);
+                keepBetween(match, n, rentCents, min, max);
+            }
+            if (filter.maxDeposit != null) {
+                keepBetween(match, n, depositCents, Long.MIN_VALUE, toCents(filter.maxDeposit));
+            }
+            if (filter.amenities != 0) {
+                keepAll(match, amenityRows, filter.amenities);
+            }
+            if (filter.within != null) {
+                keepWithin(match, n, latitude, longitude, filter.within);
+            }
+            return match;
+        }
+
+        private static void keepEqual(long[] match, int n, byte[] column, byte value) {
+            for (int w = 0; w < match.length; w++) {
+                int base = w << 6;
+                int end = Math.min(64, n - base);
+                long word = 0;
+                for (int b = 0; b < end; b++) {
+                    word |= (column[base + b] == value ? 1L : 0L) << b;
+                }
+                match[w] &= word;
+            }
+        }
+
+        private static void keepEqual(long[] match, int n, int[] column, int value) {
+            for (int w = 0; w < match.length; w++) {
+                int base = w << 6;
+                int end = Math.min(64, n - base);
+                long word = 0;
+                for (int b = 0; b < end; b++) {
+                    word |= (column[base + b] == value ? 1L : 0L) << b;
+                }
+                match[w] &= word;
+            }
+        }
+
+        private static void keepBetween(long[] match, int n, long[] column, long min, long max) {
+            for (int w = 0; w < match.length; w++) {
+                int base = w << 6;
+                int end = Math.min(64, n - base);
+                long word = 0;
+                for (int b = 0; b < end; b++) {
+                    long value = column[base + b];
+                    // Non-short-circuit & keeps both comparisons branch-free
+                    word |= (value >= min & value <= max ? 1L : 0L) << b;
+                }
+                match[w] &= word;
+            }
+        }
+
+        private static void keepAll(long[] match, long[][] amenityRows, long mask) {
+            for (int a = 0; a < AMENITIES.length; a++) {
+                if ((mask & AMENITIES[a].bit()) != 0) {
+                    long[] rows = amenityRows[a];
+                    for (int w = 0; w < match.length; w++) {
+                        match[w] &= rows[w];
+                    }
+                }
+            }
+        }
+
+        private static void keepWithin(long[] match, int n, float[] latitude, float[] longitude,
+                                       GeoDistance.BoundingBox box) {
+            double minLat = box.getMinLatitude() - COORDINATE_SLACK;
+            double maxLat = box.getMaxLatitude() + COORDINATE_SLACK;
+            double minLng = box.getMinLongitude() - COORDINATE_SLACK;
+            double maxLng = box.getMaxLongitude() + COORDINATE_SLACK;
+            for (int w = 0; w < match.length; w++) {
+                int base = w << 6;
+                int end = Math.min(64, n - base);
+                long word = 0;
+                for (int b = 0; b < end; b++) {
+                    double lat = latitude[base + b];
+                    double lng = longitude[base + b];
+                    // NaN fails every comparison; a box past +/-180 also matches the longitude shifted by 360
+                    boolean inLat = lat >= minLat & lat <= maxLat;
+                    boolean inLng = (lng >= minLng & lng <= maxLng)
+                            | (lng + 360.0 >= minLng & lng + 360.0 <= maxLng)
+                            | (lng - 360.0 >= minLng & lng - 360.0 <= maxLng);
+                    word |= (inLat & inLng ? 1L : 0L) << b;
+                }
+                match[w] &= word;
+            }
+        }
+    }
+}
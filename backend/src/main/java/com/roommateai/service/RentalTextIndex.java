@@ -0,0 +1,226 @@
+package com.roommateai.service;
+
+import com.roommateai.dto.RentalResponse;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Rental Text Index
+ * In-memory inverted index over the title and description of available rentals.
+ * Every query token must match a term it is a prefix of ("furn" matches "furnished");
+ * matches are ranked with BM25, counting title terms twice.
+ * Entries are response snapshots, so results can be returned directly.
+ */
+@Component
+public class RentalTextIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int TITLE_BOOST = 2;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // term -> rentalId -> weighted term frequency; sorted so prefixes are a range scan
+    private final NavigableMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+    private final Map<Long, Document> documents = new HashMap<>();
+    private long totalLength;
+    private volatile boolean loaded;
+
+    /**
+     * Replace the index contents (e.g. on startup)
+     */
+    public void load(Collection<RentalResponse> rentals) {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documents.clear();
+            totalLength = 0;
+            for (RentalResponse rental : rentals) {
+                upsertLocked(rental);
+            }
+            loaded = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Add, reindex or remove a rental after it was created or updated
+     */
+    public void upsert(RentalResponse rental) {
+        lock.writeLock().lock();
+        try {
+            upsertLocked(rental);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove a rental from the index
+     */
+    public void remove(Long rentalId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(rentalId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Find rentals matching every token of the query, best match first
+     * (none for a query without tokens; RentalService lists all rentals for those)
+     */
+    public List<RentalResponse> search(String query) {
+        List<String> tokens = tokenize(query);
+        if (tokens.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        lock.readLock().lock();
+        try {
+            int documentCount = documents.size();
+            double averageLength = documentCount == 0 ? 0 : (double) totalLength / documentCount;
+
+            Map<Long, Double> scores = null;
+            for (String token : tokens) {
+                Map<Long, Double> tokenScores = new HashMap<>();
+                for (Map.Entry<String, Map<Long, Integer>> term : prefixRange(token).entrySet()) {
+                    Map<Long, Integer> docs = term.getValue();
+                    double idf = Math.log(1 + (documentCount - docs.size() + 0.5) / (docs.size() + 0.5));
+                    for (Map.Entry<Long, Integer> posting : docs.entrySet()) {
+                        if (scores != null && !scores.containsKey(posting.getKey())) {
+                            continue;
+                        }
+                        int length = documents.get(posting.getKey()).length;
+                        double tf = posting.getValue();
+                        double score = idf * tf * (K1 + 1) / (tf + K1 * (1 - B + B * length / averageLength));
+                        // A token expanding to several terms of one document counts its best term
+                        tokenScores.merge(posting.getKey(), score, Math::max);
+                    }
+                }
+                if (scores == null) {
+                    scores = tokenScores;
+                } else {
+                    Map<Long, Double> matched = new HashMap<>();
+                    for (Map.Entry<Long, Double> entry : tokenScores.entrySet()) {
+                        matched.put(entry.getKey(), scores.get(entry.getKey()) + entry.getValue());
+                    }
+                    scores = matched;
+                }
+                if (scores.isEmpty()) {
+                    break;
+                }
+            }
+
+            List<Map.Entry<Long, Double>> ranked = new ArrayList<>(scores.entrySet());
+            ranked.sort(Map.Entry.<Long, Double>comparingByValue(Comparator.reverseOrder())
+                    .thenComparing(Map.Entry.comparingByKey(Comparator.reverseOrder())));
+            List<RentalResponse> results = new ArrayList<>(ranked.size());
+            for (Map.Entry<Long, Double> entry : ranked) {
+                // Copies: the indexed responses are shared by every search
+                results.add(new RentalResponse(documents.get(entry.getKey()).rental));
+            }
+            return results;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Lower-case letter/digit runs
+     */
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        StringBuilder current = new StringBuilder();
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                current.append(Character.toLowerCase(c));
+            } else if (current.length() > 0) {
+                tokens.add(current.toString());
+                current.setLength(0);
+            }
+        }
+        if (current.length() > 0) {
+            tokens.add(current.toString());
+        }
+        return tokens;
+    }
+
+    private NavigableMap<String, Map<Long, Integer>> prefixRange(String prefix) {
+        return postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+    }
+
+    private void upsertLocked(RentalResponse rental) {
+        if (rental.getId() == null) {
+            return;
+        }
+        removeLocked(rental.getId());
+        if (!Boolean.TRUE.equals(rental.getIsAvailable())) {
+            return;
+        }
+
+        Map<String, Integer> frequencies = new HashMap<>();
+        int length = 0;
+        for (String token : tokenize(rental.getTitle())) {
+            frequencies.merge(token, TITLE_BOOST, Integer::sum);
+            length += TITLE_BOOST;
+        }
+        for (String token : tokenize(rental.getDescription())) {
+            frequencies.merge(token, 1, Integer::sum);
+            length++;
+        }
+
+        for (Map.Entry<String, Integer> term : frequencies.entrySet()) {
+            postings.computeIfAbsent(term.getKey(), t -> new HashMap<>()).put(rental.getId(), term.getValue());
+        }
+        documents.put(rental.getId(), new Document(rental, length, frequencies.keySet().toArray(new String[0])));
+        totalLength += length;
+    }
+
+    private void removeLocked(Long rentalId) {
+        Document previous = documents.remove(rentalId);
+        if (previous == null) {
+            return;
+        }
+        totalLength -= previous.length;
+        for (String term : previous.terms) {
+            Map<Long, Integer> docs = postings.get(term);
+            if (docs != null) {
+                docs.remove(rentalId);
+                if (docs.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+
+    private static final class Document {
+        private final RentalResponse rental;
+        private final int length;
+        private final String[] terms;
+
+        Document(RentalResponse rental, int length, String[] terms) {
+            this.rental = rental;
+            this.length = length;
+            this.terms = terms;
+        }
+    }
+}
@@ -1,17 +1,18 @@
 package com.roommateai.service;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.roommateai.model.Match;
+import com.roommateai.model.MatchRecommendation;
 import com.roommateai.model.User;
 import com.roommateai.repository.MatchRepository;
 import com.roommateai.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.math.BigDecimal;
-import java.time.LocalDateTime;
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
  * Roommate Matching Service
@@ -27,285 +28,232 @@ public class RoommateMatchingService {
     private UserRepository userRepository;
 
     @Autowired
-    private ObjectMapper objectMapper;
+    private PreferenceVectorCache preferenceVectorCache;
 
-    /**
-     * Calculate compatibility score between two users
-     * Uses weighted algorithm: 0.3*Budget + 0.2*Lifestyle + 0.2*Sleep + 0.3*Personality
-     */
-    public BigDecimal calculateCompatibilityScore(User user1, User user2) {
-        try {
-            Map<String, Object> prefs1 = parsePreferences(user1.getPreferencesJson());
-            Map<String, Object> prefs2 = parsePreferences(user2.getPreferencesJson());
-
-            double budgetScore = calculateBudgetCompatibility(prefs1, prefs2);
-            double lifestyleScore = calculateLifestyleCompatibility(prefs1, prefs2);
-            double sleepScore = calculateSleepCompatibility(prefs1, prefs2);
-            double personalityScore = calculatePersonalityCompatibility(prefs1, prefs2);
+    @Autowired
+    private CandidateIndex candidateIndex;
 
-            // Weighted average: 0.3*Budget + 0.2*Lifestyle + 0.2*Sleep + 0.3*Personality
-            double totalScore = (0.3 * budgetScore) + (0.2 * lifestyleScore) + 
-                               (0.2 * sleepScore) + (0.3 * personalityScore);
+    @Autowired
+    private AnnCandidateIndex annCandidateIndex;
 
-            return BigDecimal.valueOf(Math.round(totalScore * 100.0) / 100.0);
+    @Autowired
+    private CandidateRanker candidateRanker;
 
-        } catch (Exception e) {
-            // Return default score if preferences can't be parsed
-            return BigDecimal.valueOf(50.0);
-        }
-    }
+    @Autowired
+    private CompatibilityScoreCache compatibilityScoreCache;
 
-    /**
-     * Calculate budget compatibility (0-100)
-     */
-    private double calculateBudgetCompatibility(Map<String, Object> prefs1, Map<String, Object> prefs2) {
-        try {
-            Integer budget1 = (Integer) prefs1.get("budget");
-            Integer budget2 = (Integer) prefs2.get("budget");
+    @Autowired
+    private MatchRecommendationService matchRecommendationService;
 
-            if (budget1 == null || budget2 == null) {
-                return 50.0; // Default score
-            }
+    @Autowired
+    private SwipeExclusionIndex swipeExclusionIndex;
 
-            double diff = Math.abs(budget1 - budget2);
-            double avgBudget = (budget1 + budget2) / 2.0;
-            double percentageDiff = (diff / avgBudget) * 100;
+    private static final int MAX_POTENTIAL_MATCHES = 20;
 
-            // Score decreases as budget difference increases
-            return Math.max(0, 100 - percentageDiff);
+    /**
+     * Calculate compatibility score between two users
+     * Uses the configured weighted algorithm (default 0.3*Budget + 0.2*Lifestyle + 0.2*Sleep + 0.3*Personality)
+     */
+    public BigDecimal calculateCompatibilityScore(User user1, User user2) {
+        PreferenceVector prefs1 = preferenceVectorCache.get(user1);
 
-        } catch (Exception e) {
-            return 50.0;
-        }
+        return BigDecimal.valueOf(scorePair(user1, prefs1, user2));
     }
 
     /**
-     * Calculate lifestyle compatibility (0-100)
+     * Score a pair through the pair-score cache (unsaved users are scored directly)
      */
-    private double calculateLifestyleCompatibility(Map<String, Object> prefs1, Map<String, Object> prefs2) {
-        try {
-            String cleanliness1 = (String) prefs1.get("cleanliness");
-            String cleanliness2 = (String) prefs2.get("cleanliness");
-            String smoking1 = (String) prefs1.get("smoking");
-            String smoking2 = (String) prefs2.get("smoking");
-
-            double score = 50.0; // Base score
-
-            // Cleanliness compatibility
-            if (cleanliness1 != null && cleanliness2 != null) {
-                if (cleanliness1.equals(cleanliness2)) {
-                    score += 25.0;
-                } else if (isCompatibleCleanliness(cleanliness1, cleanliness2)) {
-                    score += 15.0;
-                }
-            }
-
-            // Smoking compatibility
-            if (smoking1 != null && smoking2 != null) {
-                if (smoking1.equals(smoking2)) {
-                    score += 25.0;
-                } else if ("no".equals(smoking1) && "no".equals(smoking2)) {
-                    score += 25.0;
-                }
-            }
-
-            return Math.min(100.0, score);
-
-        } catch (Exception e) {
-            return 50.0;
+    private double scorePair(User user, PreferenceVector prefs, User other) {
+        PreferenceVector otherPrefs = preferenceVectorCache.get(other);
+        if (user.getId() == null || other.getId() == null) {
+            return CompatibilityScorer.score(prefs, otherPrefs);
         }
+        return compatibilityScoreCache.score(user.getId(), prefs, other.getId(), otherPrefs);
     }
 
     /**
-     * Calculate sleep schedule compatibility (0-100)
+     * Find potential matches for a user
+     * Served from precomputed recommendations when available, otherwise scored live
      */
-    private double calculateSleepCompatibility(Map<String, Object> prefs1, Map<String, Object> prefs2) {
-        try {
-            String sleep1 = (String) prefs1.get("sleep");
-            String sleep2 = (String) prefs2.get("sleep");
+    public List<UserWithScore> findPotentialMatches(Long userId) {
+        return findPotentialMatches(userId, MAX_POTENTIAL_MATCHES);
+    }
 
-            if (sleep1 == null || sleep2 == null) {
-                return 50.0;
+    /**
+     * Find up to {@code limit} potential matches for a user, best-first by (score, user id)
+     * Precomputed recommendations are used first; once swipes have used most of them up, the list
+     * is topped up by live scoring so the feed does not shrink until the next job run, and both
+     * sources are merged into one ranking
+     */
+    public List<UserWithScore> findPotentialMatches(Long userId, int limit) {
+        // A per-call copy, so it can also collect the recommendations already returned
+        LongHashSet excluded = swipeExclusionIndex.excludedFor(userId);
+
+        List<UserWithScore> recommended = new ArrayList<>();
+        for (MatchRecommendation recommendation : matchRecommendationService.getRecommendations(userId)) {
+            User candidate = recommendation.getCandidate();
+            if (!excluded.contains(candidate.getId()) && Boolean.TRUE.equals(candidate.getIsActive())) {
+                recommended.add(new UserWithScore(candidate, recommendation.getScore()));
+                if (recommended.size() == limit) {
+                    break;
+                }
             }
-
-            if (sleep1.equals(sleep2)) {
-                return 100.0;
-            } else if (isCompatibleSleep(sleep1, sleep2)) {
-                return 75.0;
-            } else {
-                return 25.0;
+        }
+        if (recommended.size() < limit) {
+            for (UserWithScore match : recommended) {
+                excluded.add(match.getUser().getId());
             }
-
-        } catch (Exception e) {
-            return 50.0;
+            recommended.addAll(scorePotentialMatches(userId, excluded, limit - recommended.size()));
         }
+        // Lists stored before rankings used the stored scores may be out of order too
+        recommended.sort(UserWithScore.BEST_FIRST);
+        return recommended;
     }
 
     /**
-     * Calculate personality compatibility (0-100)
+     * Live scoring for users without (enough usable) recommendations
+     * Scores a bounded candidate set from the in-memory index (or an ANN shortlist for large
+     * colleges) and keeps the best with a top-K heap (in parallel for large candidate pools)
      */
-    private double calculatePersonalityCompatibility(Map<String, Object> prefs1, Map<String, Object> prefs2) {
-        try {
-            @SuppressWarnings("unchecked")
-            List<String> interests1 = (List<String>) prefs1.get("interests");
-            @SuppressWarnings("unchecked")
-            List<String> interests2 = (List<String>) prefs2.get("interests");
-
-            if (interests1 == null || interests2 == null || interests1.isEmpty() || interests2.isEmpty()) {
-                return 50.0;
-            }
+    private List<UserWithScore> scorePotentialMatches(Long userId, LongHashSet excluded, int limit) {
+        User currentUser = userRepository.findById(userId).orElse(null);
+        if (currentUser == null) {
+            return new ArrayList<>();
+        }
 
-            // Calculate Jaccard similarity
-            Set<String> set1 = new HashSet<>(interests1);
-            Set<String> set2 = new HashSet<>(interests2);
+        PreferenceVector currentPrefs = preferenceVectorCache.get(currentUser);
+        // Large colleges: shortlist approximate neighbours, then rank them exactly
+        List<IndexedUser> candidates = annCandidateIndex.neighbours(
+                userId, currentUser.getCollege(), currentPrefs, excluded, limit);
+        if (candidates == null || candidates.size() < limit) {
+            candidates = candidateIndex.candidatesFor(
+                    userId, currentUser.getCollege(), currentPrefs, excluded, limit);
+        }
 
-            Set<String> intersection = new HashSet<>(set1);
-            intersection.retainAll(set2);
+        TopKHeap topMatches = candidateRanker.rank(currentPrefs, candidates, limit);
 
-            Set<String> union = new HashSet<>(set1);
-            union.addAll(set2);
+        // The heap already holds the winners' exact scores in rank order; only load the entities
+        List<Long> rankedIds = new ArrayList<>(topMatches.size());
+        for (int i = 0; i < topMatches.size(); i++) {
+            rankedIds.add(topMatches.idAt(i));
+        }
+        Map<Long, User> winners = new HashMap<>();
+        for (User user : userRepository.findAllById(rankedIds)) {
+            winners.put(user.getId(), user);
+        }
 
-            if (union.isEmpty()) {
-                return 50.0;
+        List<UserWithScore> results = new ArrayList<>(topMatches.size());
+        for (int i = 0; i < topMatches.size(); i++) {
+            User user = winners.get(topMatches.idAt(i));
+            if (user != null) {
+                results.add(new UserWithScore(user, BigDecimal.valueOf(topMatches.scoreAt(i))));
             }
-
-            double jaccardSimilarity = (double) intersection.size() / union.size();
-            return jaccardSimilarity * 100.0;
-
-        } catch (Exception e) {
-            return 50.0;
         }
+        return results;
     }
 
     /**
-     * Check if cleanliness preferences are compatible
-     */
-    private boolean isCompatibleCleanliness(String clean1, String clean2) {
-        return ("high".equals(clean1) && "medium".equals(clean2)) ||
-               ("medium".equals(clean1) && "high".equals(clean2));
-    }
-
-    /**
-     * Check if sleep schedules are compatible
+     * Score a batch of candidates against one user
+     * The requester's preferences are resolved once; results are ordered best-first
+     * (ties broken by the higher user id, matching the top-K heap)
      */
-    private boolean isCompatibleSleep(String sleep1, String sleep2) {
-        return ("early".equals(sleep1) && "normal".equals(sleep2)) ||
-               ("normal".equals(sleep1) && "early".equals(sleep2)) ||
-               ("normal".equals(sleep1) && "late".equals(sleep2)) ||
-               ("late".equals(sleep1) && "normal".equals(sleep2));
-    }
+    public List<UserWithScore> scoreCandidates(User self, Collection<User> candidates) {
+        PreferenceVector selfPrefs = preferenceVectorCache.get(self);
+
+        User[] users = new User[candidates.size()];
+        double[] scores = new double[users.length];
+        Integer[] order = new Integer[users.length];
+        int count = 0;
+        for (User candidate : candidates) {
+            if (candidate.getId() != null && candidate.getId().equals(self.getId())) {
+                continue;
+            }
+            users[count] = candidate;
+            scores[count] = scorePair(self, selfPrefs, candidate);
+            order[count] = count;
+            count++;
+        }
 
-    /**
-     * Parse user preferences JSON
-     */
-    @SuppressWarnings("unchecked")
-    private Map<String, Object> parsePreferences(String preferencesJson) {
-        try {
-            if (preferencesJson == null || preferencesJson.trim().isEmpty()) {
-                return new HashMap<>();
+        Arrays.sort(order, 0, count, (a, b) -> {
+            if (scores[a] != scores[b]) {
+                return Double.compare(scores[b], scores[a]);
             }
-            return objectMapper.readValue(preferencesJson, Map.class);
-        } catch (Exception e) {
-            return new HashMap<>();
+            return Long.compare(idOf(users[b]), idOf(users[a]));
+        });
+
+        List<UserWithScore> results = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int index = order[i];
+            results.add(new UserWithScore(users[index], BigDecimal.valueOf(scores[index])));
         }
+        return results;
     }
 
-    /**
-     * Find potential matches for a user
-     */
-    public List<User> findPotentialMatches(Long userId) {
-        List<User> potentialUsers = matchRepository.findPotentialMatches(userId);
-        
-        // Calculate compatibility scores and sort
-        return potentialUsers.stream()
-                .map(user -> {
-                    User currentUser = userRepository.findById(userId).orElse(null);
-                    if (currentUser != null) {
-                        BigDecimal score = calculateCompatibilityScore(currentUser, user);
-                        // Store score in a temporary field or use a wrapper
-                        return new UserWithScore(user, score);
-                    }
-                    return new UserWithScore(user, BigDecimal.ZERO);
-                })
-                .sorted((u1, u2) -> u2.getScore().compareTo(u1.getScore()))
-                .limit(20) // Limit to top 20 matches
-                .map(UserWithScore::getUser)
-                .collect(Collectors.toList());
+    private static long idOf(User user) {
+        return user.getId() != null ? user.getId() : Long.MIN_VALUE;
     }
 
     /**
-     * Create or update a match between two users
+     * Process a like action
+     * Matches are stored once per unordered pair (user1 = lower id) with a like flag per side.
+     * A single upsert sets this side's flag and flips the row to MATCHED when the other side
+     * has already liked, so concurrent mutual likes cannot miss the match or create duplicates.
      */
-    public Match createOrUpdateMatch(Long user1Id, Long user2Id) {
-        User user1 = userRepository.findById(user1Id).orElse(null);
-        User user2 = userRepository.findById(user2Id).orElse(null);
+    @Transactional
+    public Match processLike(Long userId, Long targetUserId) {
+        if (userId.equals(targetUserId)) {
+            throw new RuntimeException("Cannot like yourself");
+        }
 
-        if (user1 == null || user2 == null) {
+        List<User> users = userRepository.findAllById(List.of(userId, targetUserId));
+        if (users.size() < 2) {
             throw new RuntimeException("One or both users not found");
         }
 
-        // Check if match already exists
-        Optional<Match> existingMatch = matchRepository.findMatchBetweenUsers(user1Id, user2Id);
-        
-        if (existingMatch.isPresent()) {
-            Match match = existingMatch.get();
-            match.setStatus(Match.MatchStatus.LIKED);
-            return matchRepository.save(match);
-        } else {
-            // Create new match
-            BigDecimal compatibilityScore = calculateCompatibilityScore(user1, user2);
-            Match match = new Match(user1, user2, compatibilityScore);
-            match.setStatus(Match.MatchStatus.LIKED);
-            return matchRepository.save(match);
-        }
+        boolean userIsLow = userId < targetUserId;
+        Long lowId = userIsLow ? userId : targetUserId;
+        Long highId = userIsLow ? targetUserId : userId;
+        BigDecimal compatibilityScore = calculateCompatibilityScore(users.get(0), users.get(1));
+
+        matchRepository.upsertLike(lowId, highId, compatibilityScore, userIsLow, !userIsLow);
+        excludeAfterCommit(userId, targetUserId);
+        return matchRepository.findByUser1IdAndUser2Id(lowId, highId)
+                .orElseThrow(() -> new RuntimeException("Failed to record like"));
     }
 
     /**
-     * Process a like action
+     * Process a pass action
+     * Stores a rejected row for the pair so neither user is shown the other again
      */
-    public Match processLike(Long userId, Long targetUserId) {
-        Match match = createOrUpdateMatch(userId, targetUserId);
-        
-        // Check if both users have liked each other
-        Optional<Match> reverseMatch = matchRepository.findMatchBetweenUsers(targetUserId, userId);
-        
-        if (reverseMatch.isPresent() && reverseMatch.get().getStatus() == Match.MatchStatus.LIKED) {
-            // Both users liked each other - create a match!
-            match.setStatus(Match.MatchStatus.MATCHED);
-            match.setMatchedAt(LocalDateTime.now());
-            reverseMatch.get().setStatus(Match.MatchStatus.MATCHED);
-            reverseMatch.get().setMatchedAt(LocalDateTime.now());
-            
-            matchRepository.save(match);
-            matchRepository.save(reverseMatch.get());
+    @Transactional
+    public Match processPass(Long userId, Long targetUserId) {
+        if (userId.equals(targetUserId) || userRepository.findAllById(List.of(userId, targetUserId)).size() < 2) {
+            return null;
         }
-        
-        return match;
+
+        Long lowId = Math.min(userId, targetUserId);
+        Long highId = Math.max(userId, targetUserId);
+
+        matchRepository.upsertPass(lowId, highId);
+        excludeAfterCommit(userId, targetUserId);
+        return matchRepository.findByUser1IdAndUser2Id(lowId, highId).orElse(null);
     }
 
     /**
-     * Process a pass action
+     * Hide the target from the user's candidates once the swipe row is committed, so a
+     * rolled-back swipe does not leave the target excluded in memory
      */
-    public Match processPass(Long userId, Long targetUserId) {
-        Optional<Match> existingMatch = matchRepository.findMatchBetweenUsers(userId, targetUserId);
-        
-        if (existingMatch.isPresent()) {
-            Match match = existingMatch.get();
-            match.setStatus(Match.MatchStatus.REJECTED);
-            return matchRepository.save(match);
-        } else {
-            // Create a rejected match to avoid showing this user again
-            User user1 = userRepository.findById(userId).orElse(null);
-            User user2 = userRepository.findById(targetUserId).orElse(null);
-            
-            if (user1 != null && user2 != null) {
-                Match match = new Match(user1, user2, BigDecimal.ZERO);
-                match.setStatus(Match.MatchStatus.REJECTED);
-                return matchRepository.save(match);
-            }
+    private void excludeAfterCommit(Long userId, Long targetUserId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            swipeExclusionIndex.add(userId, targetUserId);
+            return;
         }
-        
-        return null;
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                swipeExclusionIndex.add(userId, targetUserId);
+            }
+        });
     }
 
     /**
@@ -316,25 +264,23 @@ public class RoommateMatchingService {
     }
 
     /**
-     * Get matched pairs for a user
+     * Count a user's matches per status (statuses without matches are 0)
      */
-    public List<Match> getMatchedPairs(Long userId) {
-        return matchRepository.findMatchedPairsForUser(userId);
+    public Map<Match.MatchStatus, Long> countMatchesByStatus(Long userId) {
+        Map<Match.MatchStatus, Long> counts = new EnumMap<>(Match.MatchStatus.class);
+        for (Match.MatchStatus status : Match.MatchStatus.values()) {
+            counts.put(status, 0L);
+        }
+        for (Object[] row : matchRepository.countByStatusForUser(userId)) {
+            counts.put(Match.MatchStatus.valueOf((String) row[0]), ((Number) row[1]).longValue());
+        }
+        return counts;
     }
 
     /**
-     * Helper class to store user with compatibility score
+     * Get matched pairs for a user
      */
-    private static class UserWithScore {
-        private final User user;
-        private final BigDecimal score;
-
-        public UserWithScore(User user, BigDecimal score) {
-            this.user = user;
-            this.score = score;
-        }
-
-        public User getUser() { return user; }
-        public BigDecimal getScore() { return score; }
+    public List<Match> getMatchedPairs(Long userId) {
+        return matchRepository.findMatchedPairsForUser(userId);
     }
 }
@@ -0,0 +1,95 @@
+package com.roommateai.service;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Properties;
+
+/**
+ * Scoring Engine
+ * Loads the compatibility weights and lookup tables from matching.scoring.* configuration,
+ * compiles them into a ScoringModel and installs it for all scoring.
+ * An optional external properties file (matching.scoring.config-file) overrides the
+ * application properties and is re-read when it changes, so weights can be tuned without a restart.
+ */
+@Component
+public class ScoringEngine {
+
+    @Autowired
+    private Environment environment;
+
+    @Autowired
+    private CompatibilityScoreCache compatibilityScoreCache;
+
+    @Value("${matching.scoring.config-file:}")
+    private String configFile;
+
+    private volatile long loadedFileModified = -1;
+
+    @PostConstruct
+    public void init() {
+        reload();
+    }
+
+    /**
+     * Recompile the model from configuration and install it.
+     * Invalid configuration leaves the current model in place.
+     *
+     * @throws IllegalArgumentException if the configuration is invalid
+     */
+    public synchronized ScoringModel reload() {
+        Properties overrides = new Properties();
+        long modified = -1;
+        Path file = configPath();
+        if (file != null && Files.isRegularFile(file)) {
+            try (InputStream in = Files.newInputStream(file)) {
+                modified = Files.getLastModifiedTime(file).toMillis();
+                overrides.load(in);
+            } catch (IOException e) {
+                throw new IllegalArgumentException("Cannot read scoring config " + file + ": " + e.getMessage());
+            }
+        }
+
+        ScoringModel model = ScoringModel.compile(key -> overrides.getProperty(key, environment.getProperty(key)));
+        loadedFileModified = modified;
+
+        if (model.getFingerprint() != CompatibilityScorer.currentModel().getFingerprint()) {
+            CompatibilityScorer.install(model);
+            // Cached scores are tagged with the old model and would only be misses from now on
+            compatibilityScoreCache.clear();
+        }
+        return model;
+    }
+
+    /**
+     * Pick up edits to the external config file
+     */
+    @Scheduled(fixedDelayString = "${matching.scoring.reload-interval-ms:30000}")
+    public void reloadIfChanged() {
+        Path file = configPath();
+        if (file == null) {
+            return;
+        }
+        try {
+            long modified = Files.isRegularFile(file) ? Files.getLastModifiedTime(file).toMillis() : -1;
+            if (modified != loadedFileModified) {
+                reload();
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            // Keep scoring with the current model until the file is fixed
+        }
+    }
+
+    private Path configPath() {
+        return configFile == null || configFile.isBlank() ? null : Paths.get(configFile);
+    }
+}
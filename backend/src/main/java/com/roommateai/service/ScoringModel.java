@@ -0,0 +1,197 @@
+package com.roommateai.service;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Scoring Model
+ * Compiled form of the configurable compatibility formula: the four dimension weights plus
+ * flat lookup tables for the categorical dimensions, indexed by PreferenceVector codes.
+ * Immutable, so a reload can swap the whole model in one write.
+ */
+public final class ScoringModel {
+
+    public static final String PREFIX = "matching.scoring.";
+
+    // Codes 0 (missing) .. 3 are table rows; interned values beyond the seeds use the "unknown" slots
+    private static final int KNOWN_CODES = 4;
+    private static final int UNKNOWN_SAME = KNOWN_CODES * KNOWN_CODES;
+    private static final int UNKNOWN_OTHER = UNKNOWN_SAME + 1;
+    private static final int TABLE_SIZE = UNKNOWN_OTHER + 1;
+
+    /** Built-in model, identical to the original hard-coded formula */
+    public static final ScoringModel DEFAULT = compile(key -> null);
+
+    private final double budgetWeight;
+    private final double lifestyleWeight;
+    private final double sleepWeight;
+    private final double personalityWeight;
+    private final double neutralScore;
+    private final double lifestyleBase;
+    private final double[] cleanlinessBonus;
+    private final double[] smokingBonus;
+    private final double[] sleepTable;
+    private final int fingerprint;
+
+    private ScoringModel(double budgetWeight, double lifestyleWeight, double sleepWeight, double personalityWeight,
+                         double neutralScore, double lifestyleBase,
+                         double[] cleanlinessBonus, double[] smokingBonus, double[] sleepTable) {
+        this.budgetWeight = budgetWeight;
+        this.lifestyleWeight = lifestyleWeight;
+        this.sleepWeight = sleepWeight;
+        this.personalityWeight = personalityWeight;
+        this.neutralScore = neutralScore;
+        this.lifestyleBase = lifestyleBase;
+        this.cleanlinessBonus = cleanlinessBonus;
+        this.smokingBonus = smokingBonus;
+        this.sleepTable = sleepTable;
+
+        int hash = Arrays.hashCode(new double[] {
+                budgetWeight, lifestyleWeight, sleepWeight, personalityWeight, neutralScore, lifestyleBase});
+        hash = 31 * hash + Arrays.hashCode(cleanlinessBonus);
+        hash = 31 * hash + Arrays.hashCode(smokingBonus);
+        this.fingerprint = 31 * hash + Arrays.hashCode(sleepTable);
+    }
+
+    /**
+     * Compile a model from configuration, looked up by full matching.scoring.* key.
+     * Missing keys fall back to the built-in formula.
+     * Matrices are written row by row ("a,b,c;d,e,f;g,h,i") in vocabulary order:
+     * cleanliness high/medium/low, smoking no/yes/occasionally, sleep early/normal/late.
+     *
+     * @throws IllegalArgumentException if a value is malformed, negative or a matrix is not symmetric
+     */
+    public static ScoringModel compile(Function<String, String> config) {
+        double budgetWeight = number(config, "weights.budget", 0.3);
+        double lifestyleWeight = number(config, "weights.lifestyle", 0.2);
+        double sleepWeight = number(config, "weights.sleep", 0.2);
+        double personalityWeight = number(config, "weights.personality", 0.3);
+        if (budgetWeight + lifestyleWeight + sleepWeight + personalityWeight <= 0) {
+            throw new IllegalArgumentException("At least one scoring weight must be positive");
+        }
+
+        double neutral = number(config, "neutral-score", 50.0);
+
+        // Lifestyle: base plus a cleanliness and a smoking bonus, capped at 100; missing values add nothing
+        double[] cleanliness = table(config, "cleanliness.bonus",
+                "25,15,0;15,25,0;0,0,25", 0.0, number(config, "cleanliness.unknown-same", 25.0),
+                number(config, "cleanliness.unknown-other", 0.0));
+        double[] smoking = table(config, "smoking.bonus",
+                "25,0,0;0,25,0;0,0,25", 0.0, number(config, "smoking.unknown-same", 25.0),
+                number(config, "smoking.unknown-other", 0.0));
+
+        // Sleep: a score in its own right; missing values score neutral
+        double[] sleep = table(config, "sleep.scores",
+                "100,75,25;75,100,75;25,75,100", neutral, number(config, "sleep.unknown-same", 100.0),
+                number(config, "sleep.unknown-other", 25.0));
+
+        return new ScoringModel(budgetWeight, lifestyleWeight, sleepWeight, personalityWeight,
+                neutral, number(config, "lifestyle.base", 50.0), cleanliness, smoking, sleep);
+    }
+
+    private static double number(Function<String, String> config, String key, double defaultValue) {
+        String raw = config.apply(PREFIX + key);
+        if (raw == null || raw.isBlank()) {
+            return defaultValue;
+        }
+        return parse(raw, key);
+    }
+
+    private static double parse(String raw, String key) {
+        double value;
+        try {
+            value = Double.parseDouble(raw.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid number for " + PREFIX + key + ": " + raw);
+        }
+        if (value < 0 || Double.isNaN(value) || Double.isInfinite(value)) {
+            throw new IllegalArgumentException(PREFIX + key + " must be a non-negative number");
+        }
+        return value;
+    }
+
+    private static double[] table(Function<String, String> config, String key, String defaultMatrix,
+                                  double missingValue, double unknownSame, double unknownOther) {
+        String raw = config.apply(PREFIX + key);
+        String matrix = raw == null || raw.isBlank() ? defaultMatrix : raw;
+
+        String[] rows = matrix.trim().split(";");
+        if (rows.length != KNOWN_CODES - 1) {
+            throw new IllegalArgumentException(PREFIX + key + " must have " + (KNOWN_CODES - 1) + " rows");
+        }
+
+        double[] table = new double[TABLE_SIZE];
+        Arrays.fill(table, 0, UNKNOWN_SAME, missingValue);
+        for (int row = 0; row < rows.length; row++) {
+            String[] cells = rows[row].trim().split(",");
+            if (cells.length != KNOWN_CODES - 1) {
+                throw new IllegalArgumentException(PREFIX + key + " must have " + (KNOWN_CODES - 1) + " columns");
+            }
+            for (int col = 0; col < cells.length; col++) {
+                table[(row + 1) * KNOWN_CODES + col + 1] = parse(cells[col], key);
+            }
+        }
+        // The pair cache and recommendation patching rely on score(a, b) == score(b, a)
+        for (int a = 1; a < KNOWN_CODES; a++) {
+            for (int b = a + 1; b < KNOWN_CODES; b++) {
+                if (table[a * KNOWN_CODES + b] != table[b * KNOWN_CODES + a]) {
+                    throw new IllegalArgumentException(PREFIX + key + " must be symmetric");
+                }
+            }
+        }
+        table[UNKNOWN_SAME] = unknownSame;
+        table[UNKNOWN_OTHER] = unknownOther;
+        return table;
+    }
+
+    /**
+     * Lookup a categorical pair in a compiled table
+     */
+    private static double lookup(double[] table, int code1, int code2) {
+        if (code1 < KNOWN_CODES && code2 < KNOWN_CODES) {
+            return table[code1 * KNOWN_CODES + code2];
+        }
+        if (code1 == PreferenceVector.MISSING || code2 == PreferenceVector.MISSING) {
+            return table[0];
+        }
+        return table[code1 == code2 ? UNKNOWN_SAME : UNKNOWN_OTHER];
+    }
+
+    double cleanlinessBonus(int code1, int code2) {
+        return lookup(cleanlinessBonus, code1, code2);
+    }
+
+    double smokingBonus(int code1, int code2) {
+        return lookup(smokingBonus, code1, code2);
+    }
+
+    double sleepScore(int code1, int code2) {
+        return lookup(sleepTable, code1, code2);
+    }
+
+    /**
+     * Readable summary of the weights (e.g. for the reload endpoint)
+     */
+    public Map<String, Object> describe() {
+        Map<String, Object> description = new LinkedHashMap<>();
+        description.put("budgetWeight", budgetWeight);
+        description.put("lifestyleWeight", lifestyleWeight);
+        description.put("sleepWeight", sleepWeight);
+        description.put("personalityWeight", personalityWeight);
+        description.put("neutralScore", neutralScore);
+        description.put("lifestyleBase", lifestyleBase);
+        description.put("fingerprint", fingerprint);
+        return description;
+    }
+
+    // Getters
+    public double getBudgetWeight() { return budgetWeight; }
+    public double getLifestyleWeight() { return lifestyleWeight; }
+    public double getSleepWeight() { return sleepWeight; }
+    public double getPersonalityWeight() { return personalityWeight; }
+    public double getNeutralScore() { return neutralScore; }
+    public double getLifestyleBase() { return lifestyleBase; }
+    public int getFingerprint() { return fingerprint; }
+}
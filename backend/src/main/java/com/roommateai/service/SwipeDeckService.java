@@ -0,0 +1,203 @@
+package com.roommateai.service;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Swipe Deck Service
+ * Keeps a ranked deck of potential matches per user in memory and pages through it with a
+ * stable (score, userId) cursor. Decks are refilled in the background as they run low, so
+ * like and pass never wait on scoring.
+ */
+@Service
+public class SwipeDeckService {
+
+    @Autowired
+    private RoommateMatchingService matchingService;
+
+    @Value("${matching.deck.size:200}")
+    private int deckSize;
+
+    @Value("${matching.deck.refill-threshold:20}")
+    private int refillThreshold;
+
+    @Value("${matching.deck.idle-ttl-minutes:30}")
+    private long idleTtlMinutes;
+
+    private final Map<Long, Deck> decks = new ConcurrentHashMap<>();
+    private final Set<Long> refilling = ConcurrentHashMap.newKeySet();
+    private final ExecutorService prefetchExecutor = Executors.newFixedThreadPool(2, runnable -> {
+        Thread thread = new Thread(runnable, "deck-prefetch");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @PreDestroy
+    public void shutdown() {
+        prefetchExecutor.shutdown();
+    }
+
+    /**
+     * Get the next page of a user's deck after the given cursor (null for the first page)
+     */
+    public DeckPage getPage(Long userId, String cursor, int limit) {
+        Deck deck = decks.get(userId);
+        if (deck == null) {
+            deck = buildDeck(userId, null);
+        }
+        deck.lastAccess = System.currentTimeMillis();
+
+        double afterScore = Double.POSITIVE_INFINITY;
+        long afterId = Long.MAX_VALUE;
+        if (cursor != null && !cursor.isEmpty()) {
+            String[] parts = decodeCursor(cursor);
+            afterScore = Double.parseDouble(parts[0]);
+            afterId = Long.parseLong(parts[1]);
+        }
+
+        List<UserWithScore> page = new ArrayList<>(limit);
+        boolean hasMore = false;
+        for (UserWithScore entry : deck.entries) {
+            long id = entry.getUser().getId();
+            double score = entry.getScore().doubleValue();
+            if (deck.swiped.contains(id) || TopKHeap.ranksAbove(score, id, afterScore, afterId)
+                    || (score == afterScore && id == afterId)) {
+                continue;
+            }
+            if (page.size() == limit) {
+                hasMore = true;
+                break;
+            }
+            page.add(entry);
+        }
+
+        String nextCursor = null;
+        if (hasMore && !page.isEmpty()) {
+            UserWithScore last = page.get(page.size() - 1);
+            nextCursor = encodeCursor(last.getScore().doubleValue(), last.getUser().getId());
+        }
+        return new DeckPage(page, nextCursor);
+    }
+
+    /**
+     * Record a like or pass so the target leaves the deck; refills the deck in the background when low
+     */
+    public void onSwipe(Long userId, Long targetUserId) {
+        Deck deck = decks.get(userId);
+        if (deck == null) {
+            return;
+        }
+        deck.swiped.add(targetUserId);
+        if (deck.entries.size() - deck.swiped.size() < refillThreshold) {
+            prefetch(userId);
+        }
+    }
+
+    /**
+     * Drop a user's deck (e.g. after their preferences changed)
+     */
+    public void invalidate(Long userId) {
+        decks.remove(userId);
+    }
+
+    /**
+     * Rebuild a user's deck in the background unless a rebuild is already running
+     */
+    public void prefetch(Long userId) {
+        if (refilling.add(userId)) {
+            prefetchExecutor.execute(() -> {
+                try {
+                    buildDeck(userId, decks.get(userId));
+                } catch (Exception e) {
+                    // Keep serving the current deck
+                } finally {
+                    refilling.remove(userId);
+                }
+            });
+        }
+    }
+
+    /**
+     * Evict decks that have not been read for a while
+     */
+    @Scheduled(fixedDelayString = "${matching.deck.eviction-interval-ms:300000}")
+    public void evictIdleDecks() {
+        long cutoff = System.currentTimeMillis() - idleTtlMinutes * 60_000;
+        decks.values().removeIf(deck -> deck.lastAccess < cutoff);
+    }
+
+    private Deck buildDeck(Long userId, Deck previous) {
+        // The cursor skips everything ranking above it, so the deck must be in exactly that order,
+        // compared on the same values the cursor encodes
+        List<UserWithScore> entries = new ArrayList<>(matchingService.findPotentialMatches(userId, deckSize));
+        entries.sort(UserWithScore.BEST_FIRST);
+        Deck deck = new Deck(entries);
+        if (previous != null) {
+            // Swipes recorded while the rebuild was running may not be visible to it yet
+            deck.swiped.addAll(previous.swiped);
+        }
+        decks.put(userId, deck);
+        return deck;
+    }
+
+    private static String encodeCursor(double score, long userId) {
+        String raw = score + ":" + userId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String[] decodeCursor(String cursor) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        String[] parts = raw.split(":");
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        return parts;
+    }
+
+    /**
+     * Ranked deck snapshot for one user
+     */
+    private static class Deck {
+        private final List<UserWithScore> entries;
+        private final Set<Long> swiped = ConcurrentHashMap.newKeySet();
+        private volatile long lastAccess = System.currentTimeMillis();
+
+        Deck(List<UserWithScore> entries) {
+            this.entries = entries;
+        }
+    }
+
+    /**
+     * One page of a deck plus the cursor for the next page (null when the deck is exhausted)
+     */
+    public static class DeckPage {
+        private final List<UserWithScore> matches;
+        private final String nextCursor;
+
+        public DeckPage(List<UserWithScore> matches, String nextCursor) {
+            this.matches = matches;
+            this.nextCursor = nextCursor;
+        }
+
+        public List<UserWithScore> getMatches() { return matches; }
+        public String getNextCursor() { return nextCursor; }
+    }
+}
@@ -0,0 +1,87 @@
+package com.roommateai.service;
+
+import com.roommateai.repository.MatchRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Swipe Exclusion Index
+ * Per-user set of ids already liked or passed (in either direction), kept in memory so
+ * candidate generation can skip them without an anti-join against the matches table.
+ * Built from matches at startup and updated on every like and pass.
+ */
+@Component
+public class SwipeExclusionIndex {
+
+    private static final int LOAD_BATCH_SIZE = 10000;
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    private final Map<Long, LongHashSet> excluded = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+
+    /**
+     * Load every existing pair in id order, one batch at a time
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long afterId = 0;
+        while (true) {
+            List<Object[]> pairs = matchRepository.findPairsAfter(afterId, PageRequest.of(0, LOAD_BATCH_SIZE));
+            for (Object[] pair : pairs) {
+                add((Long) pair[1], (Long) pair[2]);
+            }
+            if (pairs.size() < LOAD_BATCH_SIZE) {
+                break;
+            }
+            afterId = (Long) pairs.get(pairs.size() - 1)[0];
+        }
+        loaded = true;
+    }
+
+    /**
+     * Record that two users have interacted (like or pass, either direction)
+     */
+    public void add(Long userId, Long otherUserId) {
+        addOneWay(userId, otherUserId);
+        addOneWay(otherUserId, userId);
+    }
+
+    /**
+     * Snapshot of the ids a user must not be shown again
+     * Until the startup load finishes this falls back to the database
+     */
+    public LongHashSet excludedFor(Long userId) {
+        if (!loaded) {
+            List<Long> ids = matchRepository.findInteractedUserIds(userId);
+            LongHashSet set = new LongHashSet(ids.size());
+            for (Long id : ids) {
+                set.add(id);
+            }
+            return set;
+        }
+
+        LongHashSet set = excluded.get(userId);
+        if (set == null) {
+            return new LongHashSet();
+        }
+        synchronized (set) {
+            return set.copy();
+        }
+    }
+
+    private void addOneWay(Long userId, Long otherUserId) {
+        LongHashSet set = excluded.computeIfAbsent(userId, id -> new LongHashSet());
+        synchronized (set) {
+            set.add(otherUserId);
+        }
+    }
+}
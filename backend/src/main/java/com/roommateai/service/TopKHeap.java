@@ -0,0 +1,107 @@
+package com.roommateai.service;
+
+/**
+ * Top-K Heap
+ * Bounded min-heap of (userId, score) pairs keeping the K best candidates.
+ * Ties on score are broken by the higher user id, so rankings are deterministic.
+ */
+public class TopKHeap {
+
+    private final int capacity;
+    private final long[] ids;
+    private final double[] scores;
+    private int size;
+
+    public TopKHeap(int capacity) {
+        this.capacity = capacity;
+        this.ids = new long[capacity];
+        this.scores = new double[capacity];
+    }
+
+    /**
+     * Offer a candidate; it is kept only if it ranks within the current top K
+     */
+    public void offer(long id, double score) {
+        if (capacity == 0) {
+            return;
+        }
+        if (size < capacity) {
+            ids[size] = id;
+            scores[size] = score;
+            siftUp(size++);
+        } else if (ranksAbove(score, id, scores[0], ids[0])) {
+            ids[0] = id;
+            scores[0] = score;
+            siftDown(0, size);
+        }
+    }
+
+    /**
+     * Offer every entry of another heap (used to merge partial results)
+     */
+    public void addAll(TopKHeap other) {
+        for (int i = 0; i < other.size; i++) {
+            offer(other.ids[i], other.scores[i]);
+        }
+    }
+
+    /**
+     * Sort entries best-first in place; after this the heap must only be read
+     */
+    public void sortDescending() {
+        for (int end = size - 1; end > 0; end--) {
+            swap(0, end);
+            siftDown(0, end);
+        }
+    }
+
+    public int size() { return size; }
+    public long idAt(int index) { return ids[index]; }
+    public double scoreAt(int index) { return scores[index]; }
+
+    /**
+     * Ordering used for ranking: higher score first, then higher id
+     */
+    public static boolean ranksAbove(double score, long id, double otherScore, long otherId) {
+        return score > otherScore || (score == otherScore && id > otherId);
+    }
+
+    private void siftUp(int index) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (!ranksAbove(scores[parent], ids[parent], scores[index], ids[index])) {
+                break;
+            }
+            swap(index, parent);
+            index = parent;
+        }
+    }
+
+    private void siftDown(int index, int limit) {
+        while (true) {
+            int left = 2 * index + 1;
+            if (left >= limit) {
+                break;
+            }
+            int right = left + 1;
+            int worst = left;
+            if (right < limit && ranksAbove(scores[left], ids[left], scores[right], ids[right])) {
+                worst = right;
+            }
+            if (!ranksAbove(scores[index], ids[index], scores[worst], ids[worst])) {
+                break;
+            }
+            swap(index, worst);
+            index = worst;
+        }
+    }
+
+    private void swap(int a, int b) {
+        long id = ids[a];
+        ids[a] = ids[b];
+        ids[b] = id;
+        double score = scores[a];
+        scores[a] = scores[b];
+        scores[b] = score;
+    }
+}
@@ -0,0 +1,68 @@
+package com.roommateai.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * User Change Queue
+ * In-process async queue of user change events (signup, profile update).
+ * A single consumer thread refreshes recommendations for each changed user, so
+ * writes never wait on rescoring. Repeated changes to a queued user are coalesced.
+ */
+@Component
+public class UserChangeQueue {
+
+    @Autowired
+    private MatchRecommendationService matchRecommendationService;
+
+    private final BlockingQueue<Long> queue = new LinkedBlockingQueue<>();
+    private final Set<Long> pending = ConcurrentHashMap.newKeySet();
+    private Thread consumer;
+
+    @PostConstruct
+    public void start() {
+        consumer = new Thread(this::consume, "user-change-consumer");
+        consumer.setDaemon(true);
+        consumer.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        consumer.interrupt();
+    }
+
+    /**
+     * Publish a change event for a user
+     */
+    public void publish(Long userId) {
+        if (userId != null && pending.add(userId)) {
+            queue.offer(userId);
+        }
+    }
+
+    private void consume() {
+        while (!Thread.currentThread().isInterrupted()) {
+            Long userId;
+            try {
+                userId = queue.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+
+            pending.remove(userId);
+            try {
+                matchRecommendationService.refreshAfterChange(userId);
+            } catch (Exception e) {
+                // Leave this user to the nightly recompute
+            }
+        }
+    }
+}
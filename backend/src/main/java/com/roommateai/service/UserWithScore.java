@@ -0,0 +1,32 @@
+package com.roommateai.service;
+
+import com.roommateai.model.User;
+
+import java.math.BigDecimal;
+import java.util.Comparator;
+
+/**
+ * User With Score
+ * A candidate user paired with their compatibility score against the requester
+ */
+public class UserWithScore {
+
+    /**
+     * Best-first: higher score, then higher user id (the top-K heap's order)
+     */
+    public static final Comparator<UserWithScore> BEST_FIRST = (a, b) -> {
+        int byScore = Double.compare(b.score.doubleValue(), a.score.doubleValue());
+        return byScore != 0 ? byScore : Long.compare(b.user.getId(), a.user.getId());
+    };
+
+    private final User user;
+    private final BigDecimal score;
+
+    public UserWithScore(User user, BigDecimal score) {
+        this.user = user;
+        this.score = score;
+    }
+
+    public User getUser() { return user; }
+    public BigDecimal getScore() { return score; }
+}
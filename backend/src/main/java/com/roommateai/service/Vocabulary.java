@@ -0,0 +1,40 @@
+package com.roommateai.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Vocabulary
+ * Interns preference strings to small, stable integer codes
+ */
+public class Vocabulary {
+
+    private final Map<String, Integer> codes = new ConcurrentHashMap<>();
+    private final AtomicInteger nextCode;
+
+    /**
+     * Create a vocabulary whose first code is {@code firstCode}.
+     * Seed values are registered in order, so their codes are stable across restarts.
+     */
+    public Vocabulary(int firstCode, String... seedValues) {
+        this.nextCode = new AtomicInteger(firstCode);
+        for (String value : seedValues) {
+            codeOf(value);
+        }
+    }
+
+    /**
+     * Get the code for a value, assigning a new one on first sight
+     */
+    public int codeOf(String value) {
+        return codes.computeIfAbsent(value, v -> nextCode.getAndIncrement());
+    }
+
+    /**
+     * Number of codes handed out so far (including the reserved range below the first code)
+     */
+    public int size() {
+        return nextCode.get();
+    }
+}
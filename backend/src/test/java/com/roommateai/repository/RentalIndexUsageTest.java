@@ -0,0 +1,164 @@
+package com.roommateai.repository;
+
+import com.roommateai.model.Rental;
+import com.roommateai.model.User;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Each rental filter shape reaches MySQL as a query that uses the matching composite index:
+ * city filters use idx_available_city_rent, property/room type filters idx_available_type_rent
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.MySQLDialect"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+class RentalIndexUsageTest {
+
+    private static final String CITY_INDEX = "idx_available_city_rent";
+    private static final String TYPE_INDEX = "idx_available_type_rent";
+    private static final int RENTALS = 2000;
+
+    // Root can read performance_schema; the longer SQL text keeps whole entity selects
+    @Container
+    private static final MySQLContainer<?> MYSQL = new MySQLContainer<>("mysql:8.0")
+            .withUsername("root")
+            .withCommand("--performance-schema-max-sql-text-length=8192");
+
+    @DynamicPropertySource
+    static void mysqlProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", MYSQL::getJdbcUrl);
+        registry.add("spring.datasource.username", MYSQL::getUsername);
+        registry.add("spring.datasource.password", MYSQL::getPassword);
+    }
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private RentalRepository rentalRepository;
+
+    @BeforeEach
+    void seedRentals() {
+        // ANALYZE TABLE commits implicitly, so the rows outlive the first test's rollback
+        if (rentalRepository.count() > 0) {
+            return;
+        }
+        User owner = entityManager.persist(new User("Owner", "owner@college.edu", "secret1", "College"));
+        for (int i = 0; i < RENTALS; i++) {
+            // Forty cities; hostels and single rooms are rare, so each filter is selective
+            Rental rental = new Rental();
+            rental.setOwner(owner);
+            rental.setTitle("Room " + i);
+            rental.setDescription("Furnished room " + i);
+            rental.setRent(BigDecimal.valueOf(5000 + (i * 37 % 100) * 100));
+            rental.setAddress(i + " Main Street");
+            rental.setCity("City" + (i % 40));
+            rental.setState("State" + (i % 5));
+            rental.setPropertyType(i % 19 == 0 ? Rental.PropertyType.HOSTEL : Rental.PropertyType.APARTMENT);
+            rental.setRoomType(i % 23 == 0 ? Rental.RoomType.SINGLE : Rental.RoomType.DOUBLE);
+            entityManager.persist(rental);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        session().doWork(connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("ANALYZE TABLE rentals");
+            }
+        });
+    }
+
+    @Test
+    void criteriaSearchUsesCompositeIndexes() {
+        assertSearchUses(CITY_INDEX, RentalSpecifications.matchingCriteria("City7", null, null, null, null, null));
+        assertSearchUses(CITY_INDEX, RentalSpecifications.matchingCriteria(
+                "City7", "State2", BigDecimal.valueOf(6000), BigDecimal.valueOf(9000), null, null));
+        assertSearchUses(TYPE_INDEX, RentalSpecifications.matchingCriteria(
+                null, null, null, null, Rental.PropertyType.HOSTEL, null));
+        assertSearchUses(TYPE_INDEX, RentalSpecifications.matchingCriteria(
+                null, null, null, BigDecimal.valueOf(8000), Rental.PropertyType.HOSTEL, Rental.RoomType.SINGLE));
+    }
+
+    @Test
+    void cardPagesUseCompositeIndexes() {
+        assertCardsUse(CITY_INDEX, RentalSpecifications.hasCriteria("City7", null, null, null, null, null));
+        assertCardsUse(CITY_INDEX, RentalSpecifications.hasCriteria("City7", null, null, BigDecimal.valueOf(8000), null, null)
+                .and(RentalSpecifications.afterRentPosition(BigDecimal.valueOf(6000), 100L)));
+        assertCardsUse(TYPE_INDEX, RentalSpecifications.hasCriteria(null, null, null, null,
+                Rental.PropertyType.HOSTEL, Rental.RoomType.SINGLE));
+        assertCardsUse(TYPE_INDEX, RentalSpecifications.hasCriteria(null, null, BigDecimal.valueOf(6000), null,
+                        Rental.PropertyType.HOSTEL, null)
+                .and(RentalSpecifications.afterNewestPosition(LocalDateTime.now(), 1000L)));
+    }
+
+    private void assertSearchUses(String index, Specification<Rental> search) {
+        rentalRepository.findAll(search);
+        assertThat(explainLastRentalSelect()).isEqualTo(index);
+    }
+
+    private void assertCardsUse(String index, Specification<Rental> criteria) {
+        for (Sort sort : List.of(
+                Sort.by(Sort.Direction.ASC, "rent").and(Sort.by(Sort.Direction.ASC, "id")),
+                Sort.by(Sort.Direction.DESC, "createdAt").and(Sort.by(Sort.Direction.DESC, "id")))) {
+            rentalRepository.findCards(Specification.where(RentalSpecifications.isAvailable()).and(criteria), sort, 21);
+            assertThat(explainLastRentalSelect()).as("key sorted by %s", sort).isEqualTo(index);
+        }
+    }
+
+    /**
+     * EXPLAIN the last rentals select this connection ran; Connector/J prepares statements
+     * client-side, so performance_schema holds the SQL with the bound values inlined
+     */
+    private String explainLastRentalSelect() {
+        return session().doReturningWork(connection -> {
+            String sql;
+            try (Statement statement = connection.createStatement();
+                 ResultSet history = statement.executeQuery(
+                         "SELECT SQL_TEXT FROM performance_schema.events_statements_history"
+                                 + " WHERE THREAD_ID = PS_CURRENT_THREAD_ID()"
+                                 + " AND SQL_TEXT LIKE 'select%from rentals r1_0%'"
+                                 + " ORDER BY EVENT_ID DESC LIMIT 1")) {
+                assertThat(history.next()).as("rentals select in statement history").isTrue();
+                sql = history.getString(1);
+            }
+            List<String> keys = new ArrayList<>();
+            try (Statement statement = connection.createStatement();
+                 ResultSet plan = statement.executeQuery("EXPLAIN " + sql)) {
+                while (plan.next()) {
+                    if ("r1_0".equals(plan.getString("table"))) {
+                        keys.add(plan.getString("key"));
+                    }
+                }
+            }
+            assertThat(keys).as("plan rows for rentals in %s", sql).hasSize(1);
+            return keys.get(0);
+        });
+    }
+
+    private Session session() {
+        return entityManager.getEntityManager().unwrap(Session.class);
+    }
+}
@@ -0,0 +1,158 @@
+package com.roommateai.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.LongPredicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * HnswGraph tests: recall against exact kNN, tombstones and the persisted layout
+ */
+class HnswGraphTest {
+
+    private static final int DIM = PreferenceEmbedding.DIMENSIONS;
+    private static final int USERS = 5000;
+    private static final int CLUSTERS = 40;
+    private static final int K = 10;
+    private static final int EF = 100;
+
+    private float[][] vectors;
+    private HnswGraph graph;
+
+    @BeforeEach
+    void buildPopulation() {
+        // Clustered like real preferences: users gather around a few common profiles
+        Random random = new Random(7);
+        float[][] centres = new float[CLUSTERS][];
+        for (int c = 0; c < CLUSTERS; c++) {
+            centres[c] = randomVector(random, 1f);
+        }
+        vectors = new float[USERS][];
+        graph = new HnswGraph(16, 100);
+        for (int id = 0; id < USERS; id++) {
+            float[] vector = randomVector(random, 0.15f);
+            float[] centre = centres[random.nextInt(CLUSTERS)];
+            for (int i = 0; i < DIM; i++) {
+                vector[i] += centre[i];
+            }
+            vectors[id] = vector;
+            graph.insert(id, 1, vector);
+        }
+    }
+
+    @Test
+    void searchRecallsExactNearestNeighbours() {
+        Random random = new Random(11);
+        int queries = 200;
+        int hits = 0;
+        for (int q = 0; q < queries; q++) {
+            float[] query = vectors[random.nextInt(USERS)].clone();
+            query[random.nextInt(DIM)] += 0.1f;
+            hits += hitsWithinExactK(query, graph.search(query, K, EF, id -> true), id -> true);
+        }
+        assertThat((double) hits / (queries * K)).isGreaterThanOrEqualTo(0.95);
+    }
+
+    @Test
+    void searchHonoursFilterAndRemovals() {
+        for (long id = 0; id < USERS; id += 3) {
+            graph.remove(id);
+        }
+        // Re-inserting with a new version moves the node
+        float[] moved = vectors[1].clone();
+        Arrays.fill(moved, 5f);
+        graph.insert(1, 2, moved);
+        vectors[1] = moved;
+
+        Random random = new Random(13);
+        int queries = 100;
+        int hits = 0;
+        for (int q = 0; q < queries; q++) {
+            float[] query = vectors[random.nextInt(USERS)];
+            long[] found = graph.search(query, K, EF, id -> id % 2 == 0);
+            for (long id : found) {
+                assertThat(id % 3).isNotZero();
+                assertThat(id % 2).isZero();
+            }
+            hits += hitsWithinExactK(query, found, id -> id % 3 != 0 && id % 2 == 0);
+        }
+        assertThat((double) hits / (queries * K)).isGreaterThanOrEqualTo(0.9);
+        assertThat(graph.search(moved, 1, EF, id -> true)).containsExactly(1L);
+        assertThat(graph.liveVersions()).containsEntry(1L, 2).doesNotContainKey(3L);
+
+        graph.compact();
+        assertThat(graph.deletedRatio()).isZero();
+        assertThat(graph.size()).isEqualTo(USERS - (USERS + 2) / 3);
+        assertThat(graph.search(moved, 1, EF, id -> true)).containsExactly(1L);
+    }
+
+    @Test
+    void serializedGraphReadsBackIdentically() {
+        for (long id = 0; id < USERS; id += 7) {
+            graph.remove(id);
+        }
+        graph.insert(8, 3, vectors[9]);
+
+        ByteBuffer snapshot = graph.serialize();
+        // Read from a larger buffer, as AnnCandidateIndex does from the mapped file
+        ByteBuffer file = ByteBuffer.allocate(snapshot.remaining() + 16);
+        file.putInt(42).put(snapshot.duplicate()).putInt(43).flip();
+        file.getInt();
+        HnswGraph restored = HnswGraph.readFrom(file, 16, 100);
+
+        assertThat(file.getInt()).isEqualTo(43);
+        assertThat(restored.size()).isEqualTo(graph.size());
+        assertThat(restored.deletedRatio()).isEqualTo(graph.deletedRatio());
+        assertThat(restored.liveVersions()).isEqualTo(graph.liveVersions());
+        assertThat(restored.serialize()).isEqualTo(snapshot);
+
+        Random random = new Random(17);
+        for (int q = 0; q < 50; q++) {
+            float[] query = vectors[random.nextInt(USERS)];
+            assertThat(restored.search(query, K, EF, id -> true))
+                    .containsExactly(graph.search(query, K, EF, id -> true));
+        }
+
+        // The restored graph keeps accepting writes
+        restored.insert(USERS, 1, vectors[5]);
+        assertThat(restored.search(vectors[5], 2, EF, id -> true)).contains((long) USERS);
+    }
+
+    /**
+     * Results at least as close as the exact k-th accepted neighbour (ties count as hits)
+     */
+    private int hitsWithinExactK(float[] query, long[] found, LongPredicate accept) {
+        Map<Long, Integer> live = graph.liveVersions();
+        float[] distances = new float[USERS];
+        int accepted = 0;
+        for (int id = 0; id < USERS; id++) {
+            if (live.containsKey((long) id) && accept.test(id)) {
+                distances[accepted++] = PreferenceEmbedding.distance(query, 0, vectors[id], 0);
+            }
+        }
+        Arrays.sort(distances, 0, accepted);
+        float kth = distances[Math.min(K, accepted) - 1];
+
+        int hits = 0;
+        for (long id : found) {
+            if (PreferenceEmbedding.distance(query, 0, vectors[(int) id], 0) <= kth) {
+                hits++;
+            }
+        }
+        return hits;
+    }
+
+    private static float[] randomVector(Random random, float scale) {
+        float[] vector = new float[DIM];
+        for (int i = 0; i < DIM; i++) {
+            vector[i] = (float) random.nextGaussian() * scale;
+        }
+        return vector;
+    }
+}
@@ -0,0 +1,106 @@
+package com.roommateai.service;
+
+import com.roommateai.dto.RentalResponse;
+import com.roommateai.model.Rental;
+import com.roommateai.model.User;
+import com.roommateai.repository.RentalRepository;
+import com.roommateai.repository.RentalSpecifications;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Listing rentals through RentalMapper costs a constant number of statements:
+ * the finders load owners up front, so mapping never lazily selects one owner per row
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import(RentalMapper.class)
+class RentalMapperQueryCountTest {
+
+    private static final int RENTALS = 30;
+    private static final int OWNERS = 6;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private RentalRepository rentalRepository;
+
+    @Autowired
+    private RentalMapper rentalMapper;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void seedRentals() {
+        User[] owners = new User[OWNERS];
+        for (int i = 0; i < OWNERS; i++) {
+            owners[i] = entityManager.persist(new User("Owner " + i, "owner" + i + "@college.edu", "secret1", "College"));
+        }
+        for (int i = 0; i < RENTALS; i++) {
+            Rental rental = new Rental();
+            rental.setOwner(owners[i % OWNERS]);
+            rental.setTitle("Room " + i);
+            rental.setDescription("Furnished room " + i);
+            rental.setRent(BigDecimal.valueOf(5000 + 100 * i));
+            rental.setAddress(i + " Main Street");
+            rental.setCity(i % 2 == 0 ? "Pune" : "Mumbai");
+            rental.setState("Maharashtra");
+            rental.setPropertyType(Rental.PropertyType.PG);
+            rental.setRoomType(Rental.RoomType.SINGLE);
+            entityManager.persist(rental);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void availableRentalsMapWithoutPerOwnerQueries() {
+        assertConstantStatements(() -> rentalRepository.findByIsAvailable(true), RENTALS);
+    }
+
+    @Test
+    void cityRentalsMapWithoutPerOwnerQueries() {
+        assertConstantStatements(() -> rentalRepository.findByCity("Pune"), RENTALS / 2);
+    }
+
+    @Test
+    void startupLoadMapsWithoutPerOwnerQueries() {
+        assertConstantStatements(() -> rentalRepository.findAvailableWithOwner(), RENTALS);
+    }
+
+    @Test
+    void criteriaSearchMapsWithoutPerOwnerQueries() {
+        assertConstantStatements(() -> rentalRepository.findAll(RentalSpecifications.matchingCriteria(
+                "Mumbai", null, null, BigDecimal.valueOf(6000), null, Rental.RoomType.SINGLE)), 5);
+    }
+
+    private void assertConstantStatements(Supplier<List<Rental>> finder, int expectedRentals) {
+        List<RentalResponse> responses = rentalMapper.toResponses(finder.get());
+
+        assertThat(responses).hasSize(expectedRentals);
+        assertThat(responses).allSatisfy(response -> assertThat(response.getOwnerName()).startsWith("Owner "));
+        assertThat(statistics.getPrepareStatementCount()).isBetween(1L, 2L);
+    }
+}
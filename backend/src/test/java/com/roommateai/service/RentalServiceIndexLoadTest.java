@@ -0,0 +1,121 @@
+package com.roommateai.service;
+
+import com.roommateai.dto.RentalResponse;
+import com.roommateai.model.Rental;
+import com.roommateai.model.User;
+import com.roommateai.repository.RentalRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Saves and deletes that land while the search indexes read their rentals survive the load
+ */
+class RentalServiceIndexLoadTest {
+
+    private final User owner = new User("Owner", "owner@college.edu", "secret1", "College");
+    private RentalRepository rentalRepository;
+    private RentalMapper rentalMapper;
+    private RentalSnapshot rentalSnapshot;
+    private RentalTextIndex rentalTextIndex;
+    private RentalService rentalService;
+
+    @BeforeEach
+    void setUp() {
+        owner.setId(1L);
+        rentalRepository = mock(RentalRepository.class);
+        rentalMapper = mock(RentalMapper.class);
+        rentalSnapshot = new RentalSnapshot();
+        rentalTextIndex = new RentalTextIndex();
+        RentalGeoIndex rentalGeoIndex = new RentalGeoIndex();
+        ReflectionTestUtils.setField(rentalGeoIndex, "cellDegrees", 0.05);
+
+        rentalService = new RentalService();
+        ReflectionTestUtils.setField(rentalService, "rentalRepository", rentalRepository);
+        ReflectionTestUtils.setField(rentalService, "rentalMapper", rentalMapper);
+        ReflectionTestUtils.setField(rentalService, "rentalQueryCache", mock(RentalQueryCache.class));
+        ReflectionTestUtils.setField(rentalService, "rentalGeoIndex", rentalGeoIndex);
+        ReflectionTestUtils.setField(rentalService, "rentalTextIndex", rentalTextIndex);
+        ReflectionTestUtils.setField(rentalService, "rentalSnapshot", rentalSnapshot);
+    }
+
+    @Test
+    void writesDuringTheLoadAreReplayedOnTopOfIt() {
+        Rental deleted = rental(1L, "Studio near campus");
+        Rental verified = rental(2L, "Shared flat by the lake");
+        when(rentalRepository.findById(1L)).thenReturn(Optional.of(deleted));
+        when(rentalRepository.findById(2L)).thenReturn(Optional.of(verified));
+        when(rentalRepository.save(verified)).thenReturn(verified);
+        when(rentalMapper.toResponse(any(Rental.class))).thenAnswer(call -> response(call.getArgument(0)));
+        when(rentalMapper.toResponses(any())).thenAnswer(call ->
+                call.<List<Rental>>getArgument(0).stream().map(this::response).toList());
+
+        // The read sees rental 1 only; rental 1 is deleted and rental 2 saved before the indexes load
+        when(rentalRepository.findAvailableWithOwner()).thenAnswer(call -> {
+            rentalService.deleteRental(1L, owner);
+            rentalService.verifyRental(2L);
+            return List.of(deleted);
+        });
+
+        rentalService.loadSearchIndexes();
+
+        assertThat(rentalSnapshot.search(new RentalSnapshot.Filter()))
+                .extracting(RentalResponse::getId).containsExactly(2L);
+        assertThat(rentalTextIndex.search("studio")).isEmpty();
+        assertThat(rentalTextIndex.search("lake")).extracting(RentalResponse::getId).containsExactly(2L);
+    }
+
+    @Test
+    void writesAfterTheLoadGoStraightToTheIndexes() {
+        Rental verified = rental(2L, "Shared flat by the lake");
+        when(rentalRepository.findAvailableWithOwner()).thenReturn(List.of());
+        when(rentalMapper.toResponses(any())).thenReturn(List.of());
+        rentalService.loadSearchIndexes();
+
+        when(rentalRepository.findById(2L)).thenReturn(Optional.of(verified));
+        when(rentalRepository.save(verified)).thenReturn(verified);
+        when(rentalMapper.toResponse(verified)).thenReturn(response(verified));
+        rentalService.verifyRental(2L);
+
+        assertThat(rentalSnapshot.search(new RentalSnapshot.Filter()))
+                .extracting(RentalResponse::getId).containsExactly(2L);
+    }
+
+    private Rental rental(long id, String title) {
+        Rental rental = new Rental();
+        rental.setId(id);
+        rental.setOwner(owner);
+        rental.setTitle(title);
+        rental.setDescription(title);
+        rental.setRent(BigDecimal.valueOf(8000));
+        rental.setCity("Pune");
+        rental.setState("Maharashtra");
+        rental.setPropertyType(Rental.PropertyType.APARTMENT);
+        rental.setRoomType(Rental.RoomType.SHARED);
+        rental.setIsAvailable(true);
+        return rental;
+    }
+
+    private RentalResponse response(Rental rental) {
+        RentalResponse response = new RentalResponse();
+        response.setId(rental.getId());
+        response.setTitle(rental.getTitle());
+        response.setDescription(rental.getDescription());
+        response.setRent(rental.getRent());
+        response.setCity(rental.getCity());
+        response.setState(rental.getState());
+        response.setPropertyType(rental.getPropertyType().name());
+        response.setRoomType(rental.getRoomType().name());
+        response.setIsAvailable(rental.getIsAvailable());
+        return response;
+    }
+}
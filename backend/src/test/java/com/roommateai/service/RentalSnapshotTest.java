@@ -0,0 +1,224 @@
+package com.roommateai.service;
+
+import com.roommateai.dto.RentalResponse;
+import com.roommateai.model.Amenity;
+import com.roommateai.model.Rental;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.ToLongFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * RentalSnapshot against a brute-force filter over the same rentals, through random
+ * sequences of upserts and removals
+ */
+class RentalSnapshotTest {
+
+    private static final String[] CITIES = {"Pune", "pune", "Mumbai", "Delhi", "Chennai"};
+    private static final String[] STATES = {"Maharashtra", "Delhi", "Tamil Nadu"};
+    private static final Rental.PropertyType[] PROPERTY_TYPES = Rental.PropertyType.values();
+    private static final Rental.RoomType[] ROOM_TYPES = Rental.RoomType.values();
+    private static final Amenity[] AMENITIES = Amenity.values();
+    private static final int IDS = 300;
+
+    private final Random random = new Random(23);
+    // What the snapshot should hold: every rental last written, available or not
+    private final Map<Long, Rental> rentals = new HashMap<>();
+    private final Map<Long, RentalResponse> responses = new HashMap<>();
+    private final ToLongFunction<RentalResponse> amenityMask =
+            response -> rentals.get(response.getId()).getAmenitiesMask();
+    private RentalSnapshot snapshot;
+
+    @BeforeEach
+    void loadSnapshot() {
+        snapshot = new RentalSnapshot();
+        ReflectionTestUtils.setField(snapshot, "rentBucketSize", 5000L);
+        ReflectionTestUtils.setField(snapshot, "rentBuckets", 5);
+
+        List<Rental> loaded = new ArrayList<>();
+        List<RentalResponse> loadedResponses = new ArrayList<>();
+        for (long id = 1; id <= 100; id++) {
+            write(id);
+            loaded.add(rentals.get(id));
+            loadedResponses.add(responses.get(id));
+        }
+        snapshot.load(loaded, loadedResponses);
+    }
+
+    @Test
+    void searchAndFacetsMatchBruteForceThroughUpsertsAndRemovals() {
+        assertMatchesBruteForce();
+        for (int op = 0; op < 3000; op++) {
+            long id = 1 + random.nextInt(IDS);
+            if (random.nextInt(4) == 0) {
+                rentals.remove(id);
+                responses.remove(id);
+                snapshot.remove(id);
+            } else {
+                write(id);
+                snapshot.upsert(rentals.get(id), responses.get(id));
+            }
+            if (op % 50 == 0) {
+                assertMatchesBruteForce();
+            }
+        }
+        assertMatchesBruteForce();
+    }
+
+    @Test
+    void searchResultsCanBeModifiedWithoutTouchingTheSnapshot() {
+        RentalSnapshot.Filter everything = new RentalSnapshot.Filter();
+        List<RentalResponse> first = snapshot.search(everything);
+        first.get(0).setDistanceKm(1.5);
+        first.get(0).setCity("Changed");
+        first.clear();
+
+        List<RentalResponse> second = snapshot.search(everything);
+        assertThat(second).isNotEmpty();
+        assertThat(second.get(0).getDistanceKm()).isNull();
+        assertThat(second.get(0).getCity()).isNotEqualTo("Changed");
+    }
+
+    @Test
+    void emptySnapshotMatchesNothing() {
+        snapshot.load(List.of(), List.of());
+        assertThat(snapshot.search(new RentalSnapshot.Filter())).isEmpty();
+        assertThat(snapshot.facets(new RentalSnapshot.Filter())).containsEntry("total", 0);
+    }
+
+    private void assertMatchesBruteForce() {
+        for (int q = 0; q < 20; q++) {
+            String city = random.nextInt(3) == 0 ? null : random.nextInt(10) == 0 ? "Nowhere" : pick(CITIES);
+            String state = random.nextInt(3) == 0 ? pick(STATES) : null;
+            BigDecimal minRent = random.nextBoolean() ? null : rent();
+            BigDecimal maxRent = random.nextBoolean() ? null : rent();
+            Rental.PropertyType propertyType = random.nextInt(3) == 0 ? pick(PROPERTY_TYPES) : null;
+            Rental.RoomType roomType = random.nextInt(3) == 0 ? pick(ROOM_TYPES) : null;
+            BigDecimal maxDeposit = random.nextInt(3) == 0 ? deposit() : null;
+            long amenities = random.nextInt(3) == 0 ? pick(AMENITIES).bit() | (random.nextBoolean() ? pick(AMENITIES).bit() : 0) : 0;
+            GeoDistance.BoundingBox within = random.nextInt(3) == 0 ? box() : null;
+            RentalSnapshot.Filter filter = new RentalSnapshot.Filter()
+                    .city(city).state(state).minRent(minRent).maxRent(maxRent)
+                    .propertyType(propertyType).roomType(roomType)
+                    .maxDeposit(maxDeposit).amenities(amenities).within(within);
+
+            List<RentalResponse> expected = new ArrayList<>();
+            for (Rental rental : rentals.values()) {
+                if (rental.getIsAvailable()
+                        && (city == null || rental.getCity().equalsIgnoreCase(city))
+                        && (state == null || rental.getState().equalsIgnoreCase(state))
+                        && (minRent == null || rental.getRent().compareTo(minRent) >= 0)
+                        && (maxRent == null || rental.getRent().compareTo(maxRent) <= 0)
+                        && (propertyType == null || rental.getPropertyType() == propertyType)
+                        && (roomType == null || rental.getRoomType() == roomType)
+                        && (maxDeposit == null || rental.getDeposit() == null || rental.getDeposit().compareTo(maxDeposit) <= 0)
+                        && (rental.getAmenitiesMask() & amenities) == amenities
+                        && (within == null || inBox(rental, within))) {
+                    expected.add(responses.get(rental.getId()));
+                }
+            }
+            expected.sort(Comparator.comparing(RentalResponse::getId));
+
+            // Search hands out copies, so compare by id
+            assertThat(snapshot.search(filter)).extracting(RentalResponse::getId)
+                    .containsExactlyElementsOf(expected.stream().map(RentalResponse::getId).toList());
+            assertThat(snapshot.facets(filter)).isEqualTo(snapshot.facetsOf(expected, amenityMask))
+                    .containsEntry("total", expected.size());
+        }
+    }
+
+    private void write(long id) {
+        Rental rental = new Rental();
+        rental.setId(id);
+        rental.setRent(rent());
+        rental.setCity(pick(CITIES));
+        rental.setState(pick(STATES));
+        rental.setPropertyType(pick(PROPERTY_TYPES));
+        rental.setRoomType(pick(ROOM_TYPES));
+        rental.setDeposit(random.nextInt(4) == 0 ? null : deposit());
+        if (random.nextInt(6) != 0) {
+            // Hundredths of a degree on both sides of the antimeridian; box edges fall on quarters
+            rental.setLatitude(BigDecimal.valueOf(random.nextInt(201) - 100, 2));
+            int hundredths = random.nextInt(101);
+            rental.setLongitude(random.nextBoolean()
+                    ? BigDecimal.valueOf(179_00 + hundredths, 2) : BigDecimal.valueOf(-180_00 + hundredths, 2));
+        }
+        rental.setIsAvailable(random.nextInt(5) != 0);
+        long mask = 0;
+        for (Amenity amenity : AMENITIES) {
+            if (random.nextInt(3) == 0) {
+                mask |= amenity.bit();
+            }
+        }
+        rental.setAmenitiesMask(mask);
+
+        RentalResponse response = new RentalResponse();
+        response.setId(id);
+        response.setRent(rental.getRent());
+        response.setCity(rental.getCity());
+        response.setPropertyType(rental.getPropertyType().name());
+        response.setRoomType(rental.getRoomType().name());
+        response.setLatitude(rental.getLatitude());
+        response.setLongitude(rental.getLongitude());
+        rentals.put(id, rental);
+        responses.put(id, response);
+    }
+
+    private BigDecimal rent() {
+        // Mostly round amounts, so filter bounds often equal a stored rent; some past the last facet bucket
+        if (random.nextInt(4) == 0) {
+            return BigDecimal.valueOf(2000_00 + random.nextInt(28000_00), 2);
+        }
+        return BigDecimal.valueOf(2000 + 500 * random.nextInt(57));
+    }
+
+    private BigDecimal deposit() {
+        return BigDecimal.valueOf(1000 * random.nextInt(11));
+    }
+
+    /**
+     * Box with edges on quarter degrees, sometimes running past +/-180
+     */
+    private GeoDistance.BoundingBox box() {
+        double minLat = -1.0 + 0.25 * random.nextInt(9);
+        double minLng = 178.75 + 0.25 * random.nextInt(7);
+        double maxLng = minLng + 0.25 * random.nextInt(6);
+        if (random.nextBoolean()) {
+            // The same box from the western side
+            minLng -= 360.0;
+            maxLng -= 360.0;
+        }
+        return new GeoDistance.BoundingBox(minLat, minLat + 0.25 * random.nextInt(5), minLng, maxLng);
+    }
+
+    private static boolean inBox(Rental rental, GeoDistance.BoundingBox box) {
+        if (rental.getLatitude() == null) {
+            return false;
+        }
+        double lat = rental.getLatitude().doubleValue();
+        double lng = rental.getLongitude().doubleValue();
+        if (lat < box.getMinLatitude() || lat > box.getMaxLatitude()) {
+            return false;
+        }
+        for (double shifted : new double[] {lng, lng + 360.0, lng - 360.0}) {
+            if (shifted >= box.getMinLongitude() && shifted <= box.getMaxLongitude()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private <T> T pick(T[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
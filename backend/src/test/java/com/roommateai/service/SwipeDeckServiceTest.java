@@ -0,0 +1,80 @@
+package com.roommateai.service;
+
+import com.roommateai.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Paging through a swipe deck returns every entry exactly once, whatever order the
+ * matching service hands the entries over in
+ */
+class SwipeDeckServiceTest {
+
+    private RoommateMatchingService matchingService;
+    private SwipeDeckService deckService;
+
+    @BeforeEach
+    void setUp() {
+        matchingService = mock(RoommateMatchingService.class);
+        deckService = new SwipeDeckService();
+        ReflectionTestUtils.setField(deckService, "matchingService", matchingService);
+        ReflectionTestUtils.setField(deckService, "deckSize", 200);
+        ReflectionTestUtils.setField(deckService, "refillThreshold", 0);
+    }
+
+    @Test
+    void pagesThroughTiedAndUnorderedScoresWithoutLosingEntries() {
+        // Stored recommendations rounded into ties in ascending id order, followed by
+        // full-precision live top-ups that rank above some of them
+        List<UserWithScore> matches = List.of(
+                entry(3, "87.35"), entry(5, "87.35"), entry(4, "87.35"),
+                entry(9, "80.10"), entry(2, "80.10"),
+                entry(7, "91.2871"), entry(8, "87.3500001"), entry(6, "80.1"), entry(1, "12"));
+        when(matchingService.findPotentialMatches(anyLong(), anyInt())).thenReturn(matches);
+
+        for (int limit = 1; limit <= 4; limit++) {
+            deckService.invalidate(1L);
+            List<Long> seen = new ArrayList<>();
+            String cursor = null;
+            do {
+                SwipeDeckService.DeckPage page = deckService.getPage(1L, cursor, limit);
+                assertThat(page.getMatches()).hasSizeLessThanOrEqualTo(limit);
+                page.getMatches().forEach(match -> seen.add(match.getUser().getId()));
+                cursor = page.getNextCursor();
+            } while (cursor != null);
+
+            assertThat(seen).as("page size %d", limit).containsExactly(7L, 8L, 5L, 4L, 3L, 9L, 6L, 2L, 1L);
+        }
+    }
+
+    @Test
+    void swipedEntriesLeaveLaterPages() {
+        when(matchingService.findPotentialMatches(anyLong(), anyInt())).thenReturn(List.of(
+                entry(3, "50"), entry(2, "50"), entry(1, "50")));
+
+        SwipeDeckService.DeckPage first = deckService.getPage(1L, null, 1);
+        assertThat(first.getMatches()).extracting(match -> match.getUser().getId()).containsExactly(3L);
+        deckService.onSwipe(1L, 2L);
+
+        SwipeDeckService.DeckPage second = deckService.getPage(1L, first.getNextCursor(), 1);
+        assertThat(second.getMatches()).extracting(match -> match.getUser().getId()).containsExactly(1L);
+        assertThat(second.getNextCursor()).isNull();
+    }
+
+    private static UserWithScore entry(long id, String score) {
+        User user = new User("Student " + id, "student" + id + "@college.edu", "secret1", "College");
+        user.setId(id);
+        return new UserWithScore(user, new BigDecimal(score));
+    }
+}
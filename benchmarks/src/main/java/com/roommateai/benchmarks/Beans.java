@@ -0,0 +1,27 @@
+package com.roommateai.benchmarks;
+
+import java.lang.reflect.Field;
+
+/**
+ * Beans
+ * Wires the backend's field-injected components by hand, without starting a Spring context
+ */
+final class Beans {
+
+    private Beans() {
+    }
+
+    /**
+     * Set a (possibly private) field declared on the target's class
+     */
+    static <T> T set(T target, String fieldName, Object value) {
+        try {
+            Field field = target.getClass().getDeclaredField(fieldName);
+            field.setAccessible(true);
+            field.set(target, value);
+            return target;
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot set " + target.getClass().getSimpleName() + "." + fieldName, e);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.roommateai.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.roommateai.model.User;
+import com.roommateai.service.CompatibilityScoreCache;
+import com.roommateai.service.CompatibilityScorer;
+import com.roommateai.service.PreferenceVector;
+import com.roommateai.service.PreferenceVectorCache;
+import com.roommateai.service.RoommateMatchingService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compatibility Score Benchmark
+ * Pair scoring as seen by one request: the service entry point (vector and pair caches),
+ * scoring straight from preferencesJson, and each weighted sub-score on its own.
+ * Every invocation moves to the next pair of a fixed synthetic set.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CompatibilityScoreBenchmark {
+
+    private static final int PAIRS = 4096;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private RoommateMatchingService matchingService;
+    private User[] left;
+    private User[] right;
+    private PreferenceVector[] leftVectors;
+    private PreferenceVector[] rightVectors;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        PreferenceVectorCache vectorCache = Beans.set(new PreferenceVectorCache(), "objectMapper", objectMapper);
+        CompatibilityScoreCache scoreCache = new CompatibilityScoreCache();
+        Beans.set(scoreCache, "maxEntries", PAIRS * 2);
+        Beans.set(scoreCache, "writeThrough", false);
+        scoreCache.init();
+
+        matchingService = new RoommateMatchingService();
+        Beans.set(matchingService, "preferenceVectorCache", vectorCache);
+        Beans.set(matchingService, "compatibilityScoreCache", scoreCache);
+
+        List<User> users = SyntheticPopulation.generate(PAIRS * 2, 42L);
+        left = new User[PAIRS];
+        right = new User[PAIRS];
+        leftVectors = new PreferenceVector[PAIRS];
+        rightVectors = new PreferenceVector[PAIRS];
+        for (int i = 0; i < PAIRS; i++) {
+            left[i] = users.get(2 * i);
+            right[i] = users.get(2 * i + 1);
+            leftVectors[i] = PreferenceVector.parse(left[i].getPreferencesJson(), objectMapper);
+            rightVectors[i] = PreferenceVector.parse(right[i].getPreferencesJson(), objectMapper);
+        }
+    }
+
+    private int nextPair() {
+        int pair = next;
+        next = (pair + 1) & (PAIRS - 1);
+        return pair;
+    }
+
+    /**
+     * Service entry point; after the first pass every pair is a pair-cache hit
+     */
+    @Benchmark
+    public BigDecimal calculateCompatibilityScore() {
+        int i = nextPair();
+        return matchingService.calculateCompatibilityScore(left[i], right[i]);
+    }
+
+    /**
+     * Cold path: parse both users' preferencesJson, then score
+     */
+    @Benchmark
+    public double scoreFromJson() {
+        int i = nextPair();
+        return CompatibilityScorer.score(
+                PreferenceVector.parse(left[i].getPreferencesJson(), objectMapper),
+                PreferenceVector.parse(right[i].getPreferencesJson(), objectMapper));
+    }
+
+    /**
+     * Weighted score over precomputed vectors (what candidate ranking runs per candidate)
+     */
+    @Benchmark
+    public double score() {
+        int i = nextPair();
+        return CompatibilityScorer.score(leftVectors[i], rightVectors[i]);
+    }
+
+    @Benchmark
+    public double budgetScore() {
+        int i = nextPair();
+        return CompatibilityScorer.budgetScore(leftVectors[i], rightVectors[i]);
+    }
+
+    @Benchmark
+    public double lifestyleScore() {
+        int i = nextPair();
+        return CompatibilityScorer.lifestyleScore(leftVectors[i], rightVectors[i]);
+    }
+
+    @Benchmark
+    public double sleepScore() {
+        int i = nextPair();
+        return CompatibilityScorer.sleepScore(leftVectors[i], rightVectors[i]);
+    }
+
+    @Benchmark
+    public double personalityScore() {
+        int i = nextPair();
+        return CompatibilityScorer.personalityScore(leftVectors[i], rightVectors[i]);
+    }
+}
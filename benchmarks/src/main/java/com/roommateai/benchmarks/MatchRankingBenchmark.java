@@ -0,0 +1,114 @@
+package com.roommateai.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.roommateai.model.User;
+import com.roommateai.service.CandidateIndex;
+import com.roommateai.service.CandidateRanker;
+import com.roommateai.service.IndexedUser;
+import com.roommateai.service.LongHashSet;
+import com.roommateai.service.PreferenceVectorCache;
+import com.roommateai.service.SwipeExclusionIndex;
+import com.roommateai.service.TopKHeap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Match Ranking Benchmark
+ * The in-memory part of findPotentialMatches over synthetic populations: exclusion lookup,
+ * candidate collection from the college/budget index and top-K ranking.
+ * Loading recommendations and hydrating the winners need the database and are not measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MatchRankingBenchmark {
+
+    private static final int REQUESTERS = 256;
+    private static final int SWIPES_PER_USER = 50;
+
+    @Param({"1000", "10000", "100000"})
+    public int populationSize;
+
+    @Param({"true", "false"})
+    public boolean parallel;
+
+    @Param({"20", "200"})
+    public int limit;
+
+    private CandidateIndex candidateIndex;
+    private CandidateRanker candidateRanker;
+    private SwipeExclusionIndex swipeExclusionIndex;
+    private User[] requesters;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        PreferenceVectorCache vectorCache = Beans.set(new PreferenceVectorCache(), "objectMapper", new ObjectMapper());
+
+        candidateIndex = new CandidateIndex();
+        Beans.set(candidateIndex, "preferenceVectorCache", vectorCache);
+        Beans.set(candidateIndex, "budgetBandWidth", 2000);
+        Beans.set(candidateIndex, "maxCandidates", 20000);
+
+        candidateRanker = new CandidateRanker();
+        Beans.set(candidateRanker, "parallelEnabled", parallel);
+        Beans.set(candidateRanker, "parallelThreshold", 4096);
+        Beans.set(candidateRanker, "parallelism", 0);
+        candidateRanker.startPool();
+
+        swipeExclusionIndex = new SwipeExclusionIndex();
+        Beans.set(swipeExclusionIndex, "loaded", true);
+
+        List<User> users = SyntheticPopulation.generate(populationSize, 7L);
+        for (User user : users) {
+            candidateIndex.upsert(user);
+        }
+
+        Random random = new Random(11L);
+        requesters = new User[REQUESTERS];
+        for (int i = 0; i < REQUESTERS; i++) {
+            User requester = users.get(random.nextInt(users.size()));
+            requesters[i] = requester;
+            for (int s = 0; s < SWIPES_PER_USER; s++) {
+                long target = 1 + random.nextInt(populationSize);
+                if (target != requester.getId()) {
+                    swipeExclusionIndex.add(requester.getId(), target);
+                }
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        candidateRanker.stopPool();
+    }
+
+    @Benchmark
+    public TopKHeap findPotentialMatches() {
+        User user = requesters[next];
+        next = (next + 1) % REQUESTERS;
+
+        LongHashSet excluded = swipeExclusionIndex.excludedFor(user.getId());
+        List<IndexedUser> candidates = candidateIndex.candidatesFor(
+                user.getId(), user.getCollege(), candidateIndex.get(user.getId()).getVector(), excluded, limit);
+        return candidateRanker.rank(candidateIndex.get(user.getId()).getVector(), candidates, limit);
+    }
+}
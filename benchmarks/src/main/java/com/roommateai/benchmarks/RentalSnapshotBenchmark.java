@@ -0,0 +1,171 @@
+package com.roommateai.benchmarks;
+
+import com.roommateai.dto.RentalResponse;
+import com.roommateai.model.Amenity;
+import com.roommateai.model.Rental;
+import com.roommateai.service.GeoDistance;
+import com.roommateai.service.RentalSnapshot;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rental Snapshot Benchmark
+ * Criteria searches and facet counts over the columnar rental snapshot, with the filter
+ * shapes the search screen sends: city only, city with a rent range, property/room type, and a
+ * nearby search with amenity and deposit filters (bounding box prefilter only).
+ * Single-row upserts are measured too, since each one copies the columns.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RentalSnapshotBenchmark {
+
+    private static final String[] CITIES = {
+            "Mumbai", "Pune", "Bengaluru", "Delhi", "Hyderabad", "Chennai", "Kolkata", "Ahmedabad",
+            "Jaipur", "Chandigarh", "Kochi", "Indore", "Bhopal", "Nagpur", "Vellore", "Manipal"
+    };
+    private static final String[] STATES = {
+            "Maharashtra", "Karnataka", "Delhi", "Telangana", "Tamil Nadu", "West Bengal", "Gujarat", "Rajasthan"
+    };
+
+    @Param({"10000", "100000"})
+    public int rentals;
+
+    private RentalSnapshot snapshot;
+    private RentalSnapshot.Filter cityFilter;
+    private RentalSnapshot.Filter cityRentFilter;
+    private RentalSnapshot.Filter typeFilter;
+    private RentalSnapshot.Filter nearbyFilter;
+    private List<Rental> updates;
+    private List<RentalResponse> updateResponses;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        snapshot = new RentalSnapshot();
+        Beans.set(snapshot, "rentBucketSize", 5000L);
+        Beans.set(snapshot, "rentBuckets", 5);
+
+        Random random = new Random(7L);
+        List<Rental> loaded = new ArrayList<>(rentals);
+        List<RentalResponse> responses = new ArrayList<>(rentals);
+        for (long id = 1; id <= rentals; id++) {
+            Rental rental = rental(random, id);
+            loaded.add(rental);
+            responses.add(response(rental));
+        }
+        snapshot.load(loaded, responses);
+
+        cityFilter = new RentalSnapshot.Filter().city("Pune");
+        cityRentFilter = new RentalSnapshot.Filter().city("Pune")
+                .minRent(BigDecimal.valueOf(6000)).maxRent(BigDecimal.valueOf(12000));
+        typeFilter = new RentalSnapshot.Filter()
+                .propertyType(Rental.PropertyType.PG).roomType(Rental.RoomType.SHARED);
+        nearbyFilter = new RentalSnapshot.Filter()
+                .within(GeoDistance.boundingBox(18.52, 73.85, 50.0))
+                .amenities(Amenity.WIFI.bit() | Amenity.AC.bit())
+                .maxDeposit(BigDecimal.valueOf(20000));
+
+        // Rewrites of existing rentals, cycled through by the upsert benchmark
+        updates = new ArrayList<>();
+        updateResponses = new ArrayList<>();
+        for (int i = 0; i < 256; i++) {
+            Rental rental = rental(random, 1 + random.nextInt(rentals));
+            updates.add(rental);
+            updateResponses.add(response(rental));
+        }
+    }
+
+    @Benchmark
+    public List<RentalResponse> searchByCity() {
+        return snapshot.search(cityFilter);
+    }
+
+    @Benchmark
+    public List<RentalResponse> searchByCityAndRent() {
+        return snapshot.search(cityRentFilter);
+    }
+
+    @Benchmark
+    public List<RentalResponse> searchByType() {
+        return snapshot.search(typeFilter);
+    }
+
+    @Benchmark
+    public List<RentalResponse> searchNearbyWithAmenities() {
+        return snapshot.search(nearbyFilter);
+    }
+
+    @Benchmark
+    public Map<String, Object> facetsByCityAndRent() {
+        return snapshot.facets(cityRentFilter);
+    }
+
+    @Benchmark
+    public void upsert() {
+        int i = next;
+        next = (next + 1) % updates.size();
+        snapshot.upsert(updates.get(i), updateResponses.get(i));
+    }
+
+    private static Rental rental(Random random, long id) {
+        Rental rental = new Rental();
+        rental.setId(id);
+        rental.setTitle("Room " + id);
+        // Monthly rent between 3000 and 30000, in steps of 250
+        rental.setRent(BigDecimal.valueOf(3000 + 250 * random.nextInt(109)));
+        rental.setCity(CITIES[random.nextInt(CITIES.length)]);
+        rental.setState(STATES[random.nextInt(STATES.length)]);
+        rental.setPropertyType(Rental.PropertyType.values()[random.nextInt(Rental.PropertyType.values().length)]);
+        rental.setRoomType(Rental.RoomType.values()[random.nextInt(Rental.RoomType.values().length)]);
+        // Deposit of up to three months' rent, or none
+        rental.setDeposit(random.nextInt(4) == 0 ? null : rental.getRent().multiply(BigDecimal.valueOf(random.nextInt(4))));
+        // Anywhere between 8-32 N and 68-92 E
+        rental.setLatitude(BigDecimal.valueOf(8_000_000 + random.nextInt(24_000_000), 6));
+        rental.setLongitude(BigDecimal.valueOf(68_000_000 + random.nextInt(24_000_000), 6));
+        rental.setIsAvailable(true);
+        long mask = 0;
+        for (Amenity amenity : Amenity.values()) {
+            if (random.nextInt(3) == 0) {
+                mask |= amenity.bit();
+            }
+        }
+        rental.setAmenitiesMask(mask);
+        return rental;
+    }
+
+    private static RentalResponse response(Rental rental) {
+        RentalResponse response = new RentalResponse();
+        response.setId(rental.getId());
+        response.setTitle(rental.getTitle());
+        response.setRent(rental.getRent());
+        response.setCity(rental.getCity());
+        response.setState(rental.getState());
+        response.setPropertyType(rental.getPropertyType().name());
+        response.setRoomType(rental.getRoomType().name());
+        response.setDeposit(rental.getDeposit());
+        response.setLatitude(rental.getLatitude());
+        response.setLongitude(rental.getLongitude());
+        return response;
+    }
+}
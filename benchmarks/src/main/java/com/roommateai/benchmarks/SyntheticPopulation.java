@@ -0,0 +1,95 @@
+package com.roommateai.benchmarks;
+
+import com.roommateai.model.User;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Synthetic Population
+ * Seeded generator of student users with realistic preferencesJson, so runs are repeatable
+ */
+public final class SyntheticPopulation {
+
+    private static final String[] COLLEGES = {
+            "MIT", "Stanford University", "UC Berkeley", "Harvard University", "Carnegie Mellon University",
+            "University of Michigan", "Georgia Tech", "UT Austin", "UCLA", "Cornell University"
+    };
+    private static final String[] CLEANLINESS = {"high", "medium", "low"};
+    private static final String[] SMOKING = {"no", "no", "no", "occasionally", "yes"};
+    private static final String[] SLEEP = {"early", "normal", "normal", "late"};
+    private static final String[] INTERESTS = {
+            "music", "sports", "gaming", "reading", "cooking", "travel", "movies", "fitness",
+            "photography", "art", "coding", "hiking", "yoga", "dancing", "anime", "chess",
+            "volunteering", "fashion", "startups", "board games", "basketball", "soccer", "theatre", "podcasts"
+    };
+
+    private SyntheticPopulation() {
+    }
+
+    /**
+     * Generate {@code size} active students with ids 1..size
+     */
+    public static List<User> generate(int size, long seed) {
+        Random random = new Random(seed);
+        List<User> users = new ArrayList<>(size);
+        for (int i = 1; i <= size; i++) {
+            String college = COLLEGES[random.nextInt(COLLEGES.length)];
+            User user = new User("Student " + i, "student" + i + "@example.edu", "password", college);
+            user.setId((long) i);
+            user.setIsActive(true);
+            user.setPreferencesJson(preferencesJson(random));
+            users.add(user);
+        }
+        return users;
+    }
+
+    /**
+     * Build a preferences object shaped like the ones the profile screen writes
+     * A small share of users leave fields out, as real profiles do
+     */
+    public static String preferencesJson(Random random) {
+        StringBuilder json = new StringBuilder("{");
+        boolean first = true;
+        if (random.nextInt(10) > 0) {
+            // Monthly budget between 400 and 3000, in steps of 50
+            first = append(json, first, "\"budget\":" + (400 + 50 * random.nextInt(53)));
+        }
+        if (random.nextInt(10) > 0) {
+            first = append(json, first, "\"cleanliness\":\"" + pick(random, CLEANLINESS) + "\"");
+        }
+        if (random.nextInt(10) > 0) {
+            first = append(json, first, "\"smoking\":\"" + pick(random, SMOKING) + "\"");
+        }
+        if (random.nextInt(10) > 0) {
+            first = append(json, first, "\"sleep\":\"" + pick(random, SLEEP) + "\"");
+        }
+        int interestCount = random.nextInt(7);
+        if (interestCount > 0) {
+            StringBuilder interests = new StringBuilder("\"interests\":[");
+            int start = random.nextInt(INTERESTS.length);
+            for (int i = 0; i < interestCount; i++) {
+                if (i > 0) {
+                    interests.append(',');
+                }
+                // Skewed towards neighbouring entries so some interests are much more common
+                interests.append('"').append(INTERESTS[(start + i * (1 + random.nextInt(3))) % INTERESTS.length]).append('"');
+            }
+            append(json, first, interests.append(']').toString());
+        }
+        return json.append('}').toString();
+    }
+
+    private static boolean append(StringBuilder json, boolean first, String field) {
+        if (!first) {
+            json.append(',');
+        }
+        json.append(field);
+        return false;
+    }
+
+    private static String pick(Random random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
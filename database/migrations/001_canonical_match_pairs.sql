@@ -0,0 +1,54 @@
+-- Migrate matches to one row per unordered pair (user1_id < user2_id) with per-side like flags
+-- Run once on databases created before canonical pairs were introduced.
+-- Pairs stored in both directions are merged into the canonical row first, so the swap cannot
+-- collide on unique_match. The application keeps new rows canonical (MatchRepository upserts).
+USE roommate_ai;
+
+ALTER TABLE matches
+    ADD COLUMN user1_liked BOOLEAN NOT NULL DEFAULT FALSE AFTER status,
+    ADD COLUMN user2_liked BOOLEAN NOT NULL DEFAULT FALSE AFTER user1_liked;
+
+-- Legacy rows were created by user1 liking or passing user2
+UPDATE matches
+SET user1_liked = status IN ('LIKED', 'MATCHED'),
+    user2_liked = status = 'MATCHED';
+
+-- Reversed rows, with the id of the canonical row for the same pair if one exists
+CREATE TEMPORARY TABLE reversed_matches AS
+SELECT r.id, r.user1_id, r.user2_id, r.status, r.user1_liked, r.user2_liked, r.matched_at,
+       c.id AS canonical_id
+FROM matches r
+LEFT JOIN matches c ON c.user1_id = r.user2_id AND c.user2_id = r.user1_id
+WHERE r.user1_id > r.user2_id;
+
+-- Fold each duplicate into its canonical row: like flags are OR-ed (the reversed row's user1 is
+-- the canonical user2), MATCHED wins, then REJECTED, then both likes make a match
+UPDATE matches c
+JOIN reversed_matches r ON r.canonical_id = c.id
+SET c.status = CASE
+        WHEN c.status = 'MATCHED' OR r.status = 'MATCHED' THEN 'MATCHED'
+        WHEN c.status = 'REJECTED' OR r.status = 'REJECTED' THEN 'REJECTED'
+        WHEN (c.user1_liked OR r.user2_liked) AND (c.user2_liked OR r.user1_liked) THEN 'MATCHED'
+        WHEN c.user1_liked OR r.user2_liked OR c.user2_liked OR r.user1_liked THEN 'LIKED'
+        ELSE c.status
+    END,
+    c.matched_at = COALESCE(c.matched_at, r.matched_at,
+        IF((c.user1_liked OR r.user2_liked) AND (c.user2_liked OR r.user1_liked)
+               AND c.status <> 'REJECTED' AND r.status <> 'REJECTED', NOW(), NULL)),
+    c.user1_liked = c.user1_liked OR r.user2_liked,
+    c.user2_liked = c.user2_liked OR r.user1_liked;
+
+DELETE m FROM matches m
+JOIN reversed_matches r ON r.id = m.id
+WHERE r.canonical_id IS NOT NULL;
+
+-- Swap the remaining reversed rows into canonical order, reading the old values from the copy
+UPDATE matches m
+JOIN reversed_matches r ON r.id = m.id
+SET m.user1_id = r.user2_id,
+    m.user2_id = r.user1_id,
+    m.user1_liked = r.user2_liked,
+    m.user2_liked = r.user1_liked
+WHERE r.canonical_id IS NULL;
+
+DROP TEMPORARY TABLE reversed_matches;
@@ -0,0 +1,12 @@
+-- Replace the single-column user indexes on matches with (user, status) indexes
+-- so the per-user match stats query is answered from the indexes alone.
+USE roommate_ai;
+
+ALTER TABLE matches
+    ADD INDEX idx_user1_status (user1_id, status),
+    ADD INDEX idx_user2_status (user2_id, status);
+
+-- The foreign keys can use the new indexes, so the old ones can go
+ALTER TABLE matches
+    DROP INDEX idx_user1,
+    DROP INDEX idx_user2;
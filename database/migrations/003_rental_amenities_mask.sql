@@ -0,0 +1,10 @@
+-- Store each rental's canonical amenities as a bitmask (bit = position in the Amenity enum:
+-- AC, WiFi, Meals, Gym, Parking, Laundry, Security, Study Room, Common Area, Kitchen)
+-- so amenity filters are a bitwise AND instead of a substring scan of amenities_json.
+USE roommate_ai;
+
+ALTER TABLE rentals
+    ADD COLUMN amenities_mask BIGINT NOT NULL DEFAULT 0 AFTER amenities_json;
+
+-- Existing rows keep 0 here; RentalService.backfillAmenityMasks fills them in on the next start
+-- with Amenity.fromLabel's matching ("A/C", "Wi Fi", "Study-Room"), the same as when a rental is saved.
@@ -0,0 +1,12 @@
+-- Composite indexes for the common rental search shapes. The criteria search now emits only
+-- the predicates that are set, so these serve "city (+ rent range)" and
+-- "property type (+ room type) (+ rent range)" among available rentals.
+USE roommate_ai;
+
+ALTER TABLE rentals
+    ADD INDEX idx_available_city_rent (is_available, city, rent),
+    ADD INDEX idx_available_type_rent (is_available, property_type, room_type, rent);
+
+-- Both new indexes start with is_available, so the single-column one is redundant
+ALTER TABLE rentals
+    DROP INDEX idx_available;
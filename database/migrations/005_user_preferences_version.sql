@@ -0,0 +1,9 @@
+-- Version user preferences with a counter instead of a hash of the preferences JSON
+-- Cached compatibility scores are tagged with both users' versions; the old tags were content
+-- hashes, which can collide, so the persisted scores are dropped and recomputed on demand.
+USE roommate_ai;
+
+ALTER TABLE users
+    ADD COLUMN preferences_version INT NOT NULL DEFAULT 0 AFTER preferences_json;
+
+DELETE FROM compatibility_scores;
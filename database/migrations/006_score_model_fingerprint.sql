@@ -0,0 +1,9 @@
+-- Tag cached compatibility scores with the scoring model's fingerprint in a column of its own
+-- The version columns used to hold 31 * preferences version + model fingerprint, which can collide
+-- across (version, model) pairs; those rows cannot be untangled, so they are dropped and recomputed.
+USE roommate_ai;
+
+DELETE FROM compatibility_scores;
+
+ALTER TABLE compatibility_scores
+    ADD COLUMN model_fingerprint INT NOT NULL AFTER high_version;
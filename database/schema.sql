@@ -16,6 +16,7 @@ CREATE TABLE users (
     profile_image_url VARCHAR(500),
     bio TEXT,
     preferences_json JSON,
+    preferences_version INT NOT NULL DEFAULT 0,
     is_verified BOOLEAN DEFAULT FALSE,
     is_active BOOLEAN DEFAULT TRUE,
     role ENUM('STUDENT', 'ADMIN', 'LANDLORD') DEFAULT 'STUDENT',
@@ -42,6 +43,7 @@ CREATE TABLE rentals (
     latitude DECIMAL(10,8),
     longitude DECIMAL(11,8),
     amenities_json JSON,
+    amenities_mask BIGINT NOT NULL DEFAULT 0,
     images_json JSON,
     property_type ENUM('HOSTEL', 'PG', 'APARTMENT', 'HOUSE') NOT NULL,
     room_type ENUM('SINGLE', 'SHARED', 'DOUBLE', 'TRIPLE') NOT NULL,
@@ -56,7 +58,8 @@ CREATE TABLE rentals (
     INDEX idx_owner (owner_id),
     INDEX idx_location (city, state),
     INDEX idx_price (rent),
-    INDEX idx_available (is_available),
+    INDEX idx_available_city_rent (is_available, city, rent),
+    INDEX idx_available_type_rent (is_available, property_type, room_type, rent),
     INDEX idx_coordinates (latitude, longitude)
 );
 
@@ -67,19 +70,57 @@ CREATE TABLE matches (
     user2_id BIGINT NOT NULL,
     compatibility_score DECIMAL(5,2) NOT NULL,
     status ENUM('PENDING', 'LIKED', 'MATCHED', 'REJECTED') DEFAULT 'PENDING',
+    user1_liked BOOLEAN NOT NULL DEFAULT FALSE,
+    user2_liked BOOLEAN NOT NULL DEFAULT FALSE,
     matched_at TIMESTAMP NULL,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
     
     FOREIGN KEY (user1_id) REFERENCES users(id) ON DELETE CASCADE,
     FOREIGN KEY (user2_id) REFERENCES users(id) ON DELETE CASCADE,
+    -- One row per unordered pair: user1_id is always the lower id (written that way by
+    -- MatchRepository's upserts; MySQL rejects a CHECK on these cascading foreign key columns)
     UNIQUE KEY unique_match (user1_id, user2_id),
-    INDEX idx_user1 (user1_id),
-    INDEX idx_user2 (user2_id),
+    -- (user, status) so per-user status counts are answered from the index alone
+    INDEX idx_user1_status (user1_id, status),
+    INDEX idx_user2_status (user2_id, status),
     INDEX idx_status (status),
     INDEX idx_score (compatibility_score)
 );
 
+-- Compatibility scores table - Persisted pair-score cache (unordered pair stored as low/high id)
+CREATE TABLE compatibility_scores (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    user_low_id BIGINT NOT NULL,
+    user_high_id BIGINT NOT NULL,
+    low_version INT NOT NULL,
+    high_version INT NOT NULL,
+    model_fingerprint INT NOT NULL,
+    score DECIMAL(5,2) NOT NULL,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    
+    FOREIGN KEY (user_low_id) REFERENCES users(id) ON DELETE CASCADE,
+    FOREIGN KEY (user_high_id) REFERENCES users(id) ON DELETE CASCADE,
+    UNIQUE KEY unique_pair (user_low_id, user_high_id),
+    INDEX idx_user_high (user_high_id),
+    INDEX idx_updated (updated_at)
+);
+
+-- Match recommendations table - Nightly precomputed top-N roommate candidates per user
+CREATE TABLE match_recommendations (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    candidate_id BIGINT NOT NULL,
+    score DECIMAL(5,2) NOT NULL,
+    position INT NOT NULL,
+    generated_at TIMESTAMP NOT NULL,
+    
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
+    FOREIGN KEY (candidate_id) REFERENCES users(id) ON DELETE CASCADE,
+    INDEX idx_user_position (user_id, position),
+    INDEX idx_candidate (candidate_id)
+);
+
 -- Reviews table - Rating system for landlords and roommates
 CREATE TABLE reviews (
     id BIGINT AUTO_INCREMENT PRIMARY KEY,
@@ -200,9 +241,9 @@ INSERT INTO users (name, email, password, college, phone, preferences_json, is_v
 UPDATE users SET role = 'ADMIN' WHERE email = 'admin@roommateai.com';
 
 -- Sample rental data
-INSERT INTO rentals (owner_id, title, description, rent, deposit, address, city, state, pincode, latitude, longitude, amenities_json, property_type, room_type, available_from) VALUES
-(1, 'Cozy PG near SRM Campus', 'Beautiful PG with AC rooms, WiFi, and home-cooked meals. Perfect for students!', 8500.00, 5000.00, 'Near SRM University Gate', 'Chennai', 'Tamil Nadu', '603203', 12.8236, 80.0435, '["AC", "WiFi", "Meals", "Laundry", "Parking"]', 'PG', 'SINGLE', '2024-02-01'),
-(2, 'Modern Hostel with Gym', 'New hostel with modern amenities including gym, study room, and 24/7 security.', 12000.00, 8000.00, 'VIT University Area', 'Vellore', 'Tamil Nadu', '632014', 12.9702, 79.1559, '["AC", "WiFi", "Gym", "Study Room", "Security", "Laundry"]', 'HOSTEL', 'DOUBLE', '2024-02-15');
+INSERT INTO rentals (owner_id, title, description, rent, deposit, address, city, state, pincode, latitude, longitude, amenities_json, amenities_mask, property_type, room_type, available_from) VALUES
+(1, 'Cozy PG near SRM Campus', 'Beautiful PG with AC rooms, WiFi, and home-cooked meals. Perfect for students!', 8500.00, 5000.00, 'Near SRM University Gate', 'Chennai', 'Tamil Nadu', '603203', 12.8236, 80.0435, '["AC", "WiFi", "Meals", "Laundry", "Parking"]', 55, 'PG', 'SINGLE', '2024-02-01'),
+(2, 'Modern Hostel with Gym', 'New hostel with modern amenities including gym, study room, and 24/7 security.', 12000.00, 8000.00, 'VIT University Area', 'Vellore', 'Tamil Nadu', '632014', 12.9702, 79.1559, '["AC", "WiFi", "Gym", "Study Room", "Security", "Laundry"]', 235, 'HOSTEL', 'DOUBLE', '2024-02-15');
 
 -- Sample community posts
 INSERT INTO posts (user_id, title, content, category) VALUES